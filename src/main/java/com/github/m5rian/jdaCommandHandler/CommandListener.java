@@ -1,10 +1,29 @@
 package com.github.m5rian.jdaCommandHandler;
 
 import com.github.m5rian.jdaCommandHandler.commandServices.ICommandService;
+import com.github.m5rian.jdaCommandHandler.commandServices.IComponentService;
+import com.github.m5rian.jdaCommandHandler.commandServices.IPermissionService;
 import com.github.m5rian.jdaCommandHandler.commandServices.ISlashCommandService;
+import com.github.m5rian.jdaCommandHandler.commandServices.ITriggerService;
+import com.github.m5rian.jdaCommandHandler.commandServices.PermissionCache;
+import com.github.m5rian.jdaCommandHandler.commandServices.SelfPermissionCache;
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.events.ReadyEvent;
+import net.dv8tion.jda.api.events.channel.text.TextChannelDeleteEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleAddEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleRemoveEvent;
+import net.dv8tion.jda.api.events.guild.override.GenericPermissionOverrideEvent;
+import net.dv8tion.jda.api.events.interaction.ButtonClickEvent;
+import net.dv8tion.jda.api.events.interaction.GenericComponentInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.SelectionMenuEvent;
 import net.dv8tion.jda.api.events.interaction.SlashCommandEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
+import net.dv8tion.jda.api.events.role.RoleDeleteEvent;
+import net.dv8tion.jda.api.events.role.update.RoleUpdatePermissionsEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +39,7 @@ public class CommandListener extends ListenerAdapter {
     private final Logger LOGGER = LoggerFactory.getLogger(ICommandService.class);
     private final ICommandService commandService; // A command service
     private final ISlashCommandService slashCommandService; // A command service for slash commands
+    private final IPermissionService permissionService; // A permission service
 
     /**
      * @param commandService A command service.
@@ -27,6 +47,7 @@ public class CommandListener extends ListenerAdapter {
     public CommandListener(Object commandService) {
         this.commandService = (ICommandService) commandService;
         this.slashCommandService = (ISlashCommandService) commandService;
+        this.permissionService = (IPermissionService) commandService;
     }
 
 
@@ -60,9 +81,41 @@ public class CommandListener extends ListenerAdapter {
         }
     }
 
+    /**
+     * Runs once a button is clicked.
+     * If the command service supports components, {@link IComponentService#processComponentExecution(GenericComponentInteractionCreateEvent)} will fire too.
+     *
+     * @param event The ButtonClickEvent.
+     */
+    @Override
+    public void onButtonClick(@Nonnull ButtonClickEvent event) {
+        processComponent(event);
+    }
+
+    /**
+     * Runs once a selection menu is used.
+     * If the command service supports components, {@link IComponentService#processComponentExecution(GenericComponentInteractionCreateEvent)} will fire too.
+     *
+     * @param event The SelectionMenuEvent.
+     */
+    @Override
+    public void onSelectionMenu(@Nonnull SelectionMenuEvent event) {
+        processComponent(event);
+    }
+
+    private void processComponent(GenericComponentInteractionCreateEvent event) {
+        if (!(this.commandService instanceof IComponentService componentService)) return; // Command service doesn't route components
+        try {
+            componentService.processComponentExecution(event);
+        } catch (Exception exception) {
+            exception.printStackTrace();
+        }
+    }
+
     /**
      * Runs once a MessageReceivedEvent is fired.
      * On that event the {@link ICommandService#processCommandExecution(MessageReceivedEvent)} will fire too.
+     * If the command service supports triggers, {@link ITriggerService#processTriggerExecution(MessageReceivedEvent)} fires afterwards.
      *
      * @param event The MessageReceivedEvent.
      */
@@ -73,5 +126,150 @@ public class CommandListener extends ListenerAdapter {
         } catch (Exception exception) {
             exception.printStackTrace();
         }
+        if (this.commandService instanceof ITriggerService triggerService) {
+            try {
+                triggerService.processTriggerExecution(event);
+            } catch (Exception exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Runs once a MessageUpdateEvent is fired.
+     * On that event the {@link ICommandService#processCommandUpdate(MessageUpdateEvent)} will fire too.
+     *
+     * @param event The MessageUpdateEvent.
+     */
+    @Override
+    public void onMessageUpdate(@Nonnull MessageUpdateEvent event) {
+        try {
+            this.commandService.processCommandUpdate(event);
+        } catch (Exception exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Invalidates cached permission decisions of the member, once a role was added.
+     * If the member is the bot, the cached permissions of the bot get invalidated too.
+     *
+     * @param event The GuildMemberRoleAddEvent.
+     */
+    @Override
+    public void onGuildMemberRoleAdd(@Nonnull GuildMemberRoleAddEvent event) {
+        final PermissionCache cache = this.permissionService.getPermissionCache();
+        if (cache != null) cache.invalidateMember(event.getGuild().getIdLong(), event.getMember().getIdLong());
+        if (isSelf(event.getMember())) invalidateSelfPermissions();
+    }
+
+    /**
+     * Invalidates cached permission decisions of the member, once a role was removed.
+     * If the member is the bot, the cached permissions of the bot get invalidated too.
+     *
+     * @param event The GuildMemberRoleRemoveEvent.
+     */
+    @Override
+    public void onGuildMemberRoleRemove(@Nonnull GuildMemberRoleRemoveEvent event) {
+        final PermissionCache cache = this.permissionService.getPermissionCache();
+        if (cache != null) cache.invalidateMember(event.getGuild().getIdLong(), event.getMember().getIdLong());
+        if (isSelf(event.getMember())) invalidateSelfPermissions();
+    }
+
+    /**
+     * Invalidates cached permission decisions of the member, once the member left the guild.
+     *
+     * @param event The GuildMemberRemoveEvent.
+     */
+    @Override
+    public void onGuildMemberRemove(@Nonnull GuildMemberRemoveEvent event) {
+        final PermissionCache cache = this.permissionService.getPermissionCache();
+        if (cache != null) cache.invalidateMember(event.getGuild().getIdLong(), event.getUser().getIdLong());
+    }
+
+    /**
+     * Invalidates cached permission decisions of the guild, once the permissions of a role changed.
+     * If the role is a role of the bot, the cached permissions of the bot get invalidated too.
+     *
+     * @param event The RoleUpdatePermissionsEvent.
+     */
+    @Override
+    public void onRoleUpdatePermissions(@Nonnull RoleUpdatePermissionsEvent event) {
+        final PermissionCache cache = this.permissionService.getPermissionCache();
+        if (cache != null) cache.invalidateGuild(event.getGuild().getIdLong());
+        if (event.getRole().isPublicRole() || event.getGuild().getSelfMember().getRoles().contains(event.getRole()))
+            invalidateSelfPermissions();
+    }
+
+    /**
+     * Invalidates cached permission decisions of the guild, once a role got deleted.
+     * The role could have been a role of the bot, so the cached permissions of the bot get invalidated too.
+     *
+     * @param event The RoleDeleteEvent.
+     */
+    @Override
+    public void onRoleDelete(@Nonnull RoleDeleteEvent event) {
+        final PermissionCache cache = this.permissionService.getPermissionCache();
+        if (cache != null) cache.invalidateGuild(event.getGuild().getIdLong());
+        invalidateSelfPermissions();
+    }
+
+    /**
+     * Invalidates cached permission decisions of the guild and the cached permissions of the bot in the channel,
+     * once a permission override of a channel was created, updated or deleted.
+     *
+     * @param event The GenericPermissionOverrideEvent.
+     */
+    @Override
+    public void onGenericPermissionOverride(@Nonnull GenericPermissionOverrideEvent event) {
+        final PermissionCache cache = this.permissionService.getPermissionCache();
+        if (cache != null) cache.invalidateGuild(event.getGuild().getIdLong());
+
+        final SelfPermissionCache selfCache = this.permissionService.getSelfPermissionCache();
+        if (selfCache != null) {
+            if (event.getChannelType() == ChannelType.CATEGORY) selfCache.invalidateAll(); // Override can be synced to all channels of the category
+            else selfCache.invalidateChannel(event.getChannel().getIdLong());
+        }
+    }
+
+    /**
+     * Invalidates the cached permissions of the bot in the channel, once the channel got deleted.
+     *
+     * @param event The TextChannelDeleteEvent.
+     */
+    @Override
+    public void onTextChannelDelete(@Nonnull TextChannelDeleteEvent event) {
+        final SelfPermissionCache selfCache = this.permissionService.getSelfPermissionCache();
+        if (selfCache != null) selfCache.invalidateChannel(event.getChannel().getIdLong());
+    }
+
+    /**
+     * Invalidates cached permission decisions of the guild, once the bot left the guild.
+     *
+     * @param event The GuildLeaveEvent.
+     */
+    @Override
+    public void onGuildLeave(@Nonnull GuildLeaveEvent event) {
+        final PermissionCache cache = this.permissionService.getPermissionCache();
+        if (cache != null) cache.invalidateGuild(event.getGuild().getIdLong());
+
+        final SelfPermissionCache selfCache = this.permissionService.getSelfPermissionCache();
+        if (selfCache != null) event.getGuild().getTextChannels().forEach(channel -> selfCache.invalidateChannel(channel.getIdLong()));
+    }
+
+    /**
+     * @param member A member.
+     * @return Returns if the member is the bot itself.
+     */
+    private boolean isSelf(Member member) {
+        return member.getIdLong() == member.getJDA().getSelfUser().getIdLong();
+    }
+
+    /**
+     * Invalidates all cached permissions of the bot.
+     */
+    private void invalidateSelfPermissions() {
+        final SelfPermissionCache selfCache = this.permissionService.getSelfPermissionCache();
+        if (selfCache != null) selfCache.invalidateAll();
     }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.github.m5rian.jdaCommandHandler;
+
+import com.github.m5rian.jdaCommandHandler.command.CommandData;
+import com.github.m5rian.jdaCommandHandler.component.ComponentData;
+import com.github.m5rian.jdaCommandHandler.slashCommand.SlashCommandData;
+import com.github.m5rian.jdaCommandHandler.trigger.TriggerData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author Marian
+ * <p>
+ * A module is a set of {@link CommandHandler}s, which are loaded from a JAR file or a directory with their own classloader.
+ * Because every module has its own classloader, a module can be loaded again to get new versions of its classes,
+ * without restarting the bot.
+ * <p>
+ * The command handlers of a module are found using a {@link ServiceLoader}.
+ * This means the module needs to list all of its command handlers in the file
+ * {@code META-INF/services/com.github.m5rian.jdaCommandHandler.CommandHandler}.
+ */
+public class CommandModule implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandModule.class);
+    private static final ScheduledExecutorService RETIREMENT = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "CommandModule-Retirement");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final long RETIREMENT_CHECK_INTERVAL = 1; // Seconds between checking if a retired module is still used
+
+    private final Path path; // The JAR file or directory of the module
+    private final URLClassLoader classLoader; // The classloader which loaded all classes of the module
+    private final List<CommandHandler> handlers; // All command handlers of the module
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private CommandModule(Path path, URLClassLoader classLoader, List<CommandHandler> handlers) {
+        this.path = path;
+        this.classLoader = classLoader;
+        this.handlers = handlers;
+    }
+
+    /**
+     * Loads a module with the context classloader of the current thread as parent.
+     *
+     * @param path A JAR file or a directory. A directory can contain class files and JAR files.
+     * @return Returns the loaded module.
+     * @throws IOException If the module couldn't be read.
+     */
+    public static CommandModule load(Path path) throws IOException {
+        return load(path, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Loads a module.
+     *
+     * @param path   A JAR file or a directory. A directory can contain class files and JAR files.
+     * @param parent The parent classloader, which provides the classes of the bot and its libraries.
+     * @return Returns the loaded module.
+     * @throws IOException If the module couldn't be read.
+     */
+    public static CommandModule load(Path path, ClassLoader parent) throws IOException {
+        final List<URL> urls = new ArrayList<>();
+        urls.add(path.toUri().toURL()); // Add module itself
+        // Module is a directory
+        if (Files.isDirectory(path)) {
+            // Add all JAR files of the directory
+            try (Stream<Path> files = Files.list(path)) {
+                for (Path file : files.filter(file -> file.toString().endsWith(".jar")).sorted().collect(Collectors.toList())) {
+                    urls.add(file.toUri().toURL());
+                }
+            }
+        } else if (!Files.isRegularFile(path)) throw new IOException("Module " + path + " doesn't exist");
+
+        final URLClassLoader classLoader = new URLClassLoader("CommandModule-" + path.getFileName(), urls.toArray(new URL[0]), parent);
+        try {
+            // Only use command handlers which are defined by this module, not the ones of the parent classloader
+            final List<CommandHandler> handlers = ServiceLoader.load(CommandHandler.class, classLoader).stream()
+                    .filter(provider -> provider.type().getClassLoader() == classLoader)
+                    .map(ServiceLoader.Provider::get)
+                    .collect(Collectors.toUnmodifiableList());
+            return new CommandModule(path, classLoader, handlers);
+        } catch (RuntimeException | Error e) {
+            classLoader.close(); // Don't leak the classloader of a broken module
+            throw e;
+        }
+    }
+
+    /**
+     * @return Returns the JAR file or directory the module was loaded from.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return Returns the classloader of the module.
+     */
+    public ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
+    /**
+     * @return Returns an immutable list of all command handlers of the module.
+     */
+    public List<CommandHandler> getHandlers() {
+        return this.handlers;
+    }
+
+    /**
+     * @return Returns if the module is closed.
+     */
+    public boolean isClosed() {
+        return this.closed.get();
+    }
+
+    /**
+     * Closes the module once none of the given commands, slash commands, component handlers and triggers are running anymore.
+     * They need to be unregistered already, so no new invocations can start.
+     * <p>
+     * An invocation could be dispatched just before the commands got unregistered and start a moment later.
+     * Because of that the commands need to be idle for two checks in a row before the module gets closed.
+     *
+     * @param commands      The unregistered commands of this module.
+     * @param slashCommands The unregistered slash commands of this module.
+     * @param components    The unregistered component handlers of this module.
+     * @param triggers      The unregistered triggers of this module.
+     */
+    public void retire(List<CommandData> commands, List<SlashCommandData> slashCommands, List<ComponentData> components, List<TriggerData> triggers) {
+        final AtomicBoolean idleBefore = new AtomicBoolean(false);
+        final AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+        task.set(RETIREMENT.scheduleWithFixedDelay(() -> {
+            final boolean idle = commands.stream().allMatch(command -> command.getRunningInvocations() == 0)
+                    && slashCommands.stream().allMatch(slashCommand -> slashCommand.getRunningInvocations() == 0)
+                    && components.stream().allMatch(component -> component.getRunningInvocations() == 0)
+                    && triggers.stream().allMatch(trigger -> trigger.getRunningInvocations() == 0);
+            // Commands weren't used for two checks in a row
+            if (idle && idleBefore.getAndSet(true)) {
+                try {
+                    close(); // Release classloader
+                } catch (IOException e) {
+                    LOGGER.error("Couldn't close module " + this.path, e);
+                }
+                task.get().cancel(false);
+            } else if (!idle) idleBefore.set(false);
+        }, RETIREMENT_CHECK_INTERVAL, RETIREMENT_CHECK_INTERVAL, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Closes the classloader of the module.
+     * The loaded classes get released as soon as nothing references them anymore.
+     * <p>
+     * Command handlers of a closed module can't load further classes,
+     * so the module must only be closed after its commands got unregistered and finished running.
+     *
+     * @throws IOException If the JAR files couldn't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed.getAndSet(true)) return; // Module is already closed
+        this.classLoader.close();
+    }
+}
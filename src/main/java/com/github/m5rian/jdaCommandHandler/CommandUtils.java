@@ -31,6 +31,15 @@ public class CommandUtils {
         return executors; // Return list with all executors
     }
 
+    /**
+     * @param command The {@link CommandEvent} annotation of a command.
+     * @return Returns the name of the command, prefixed with the full name of its parent if it has one.
+     */
+    public static String getFullName(CommandEvent command) {
+        if (command.parent().isBlank()) return command.name();
+        return command.parent().trim() + " " + command.name();
+    }
+
     public static CommandData commandToCommandData(Command command) {
         final CommandData commandData = new CommandData(command.getName(), command.getDescription());
 
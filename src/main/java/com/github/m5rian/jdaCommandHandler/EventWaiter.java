@@ -4,8 +4,9 @@ import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -23,7 +24,8 @@ import java.util.function.Predicate;
 @SuppressWarnings({"unused"})
 public class EventWaiter implements EventListener {
     private final ScheduledExecutorService scheduleService = new ScheduledThreadPoolExecutor(5);
-    private final List<Settings> waiters = new ArrayList<>();
+    private final List<Settings> waiters = new CopyOnWriteArrayList<>(); // Iterating never sees waiters which are added or removed at the same time
+    private volatile Executor executor; // Runs the callbacks, null to run them on the event thread
 
     /**
      * Fires on every discord event.
@@ -33,22 +35,29 @@ public class EventWaiter implements EventListener {
      */
     @Override
     public void onEvent(@NotNull GenericEvent action) {
-        final List<Settings> waitersCopy = new ArrayList<>(this.waiters); // Copy of current waiters to not interrupt the original ones
-        final List<Settings> triggered = new ArrayList<>(); // Waiters which got triggered and need to be removed
-
-        for (Settings waiter : waitersCopy) {
+        for (Settings waiter : this.waiters) {
             if (waiter.type == action.getClass()) { // Waiting event is same as triggered event
                 // Condition is met or no condition set
                 if (waiter.condition == null || waiter.condition.test(action)) {
-                    waiter.action.accept(action); // Run callback
+                    // Remove waiter, if action doesn't remain. If it got removed already, another event or the timeout was faster
+                    if (!waiter.remainAction && !this.waiters.remove(waiter)) continue;
 
-                    // Remove waiter, if action doesn't remain
-                    if (!waiter.remainAction) triggered.add(waiter);
+                    final Executor executor = this.executor;
+                    if (executor == null) waiter.action.accept(action); // Run callback
+                    else executor.execute(() -> waiter.action.accept(action)); // Run callback on the executor
                 }
             }
         }
+    }
 
-        this.waiters.removeAll(triggered);
+    /**
+     * Sets an {@link Executor} for the callbacks of the waiters.
+     * Conditions are still checked on the event thread.
+     *
+     * @param executor The executor or null to run the callbacks on the event thread.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
     }
 
     /**
@@ -155,14 +164,14 @@ public class EventWaiter implements EventListener {
          */
         public void load() {
             waiters.add(this); // Add event waiter
+            if (this.timeoutDelay <= 0) return; // No timeout set
 
             TimeUnit unit = TimeUnit.MILLISECONDS;
             if (this.timeunit != null) unit = this.timeunit;
 
             scheduleService.schedule(() -> {
-                // Event waiter is still in the map
-                if (waiters.contains(this.type)) {
-                    waiters.remove(this.type); // Remove event waiter
+                // Event waiter is still in the list
+                if (waiters.remove(this)) {
                     // If timeout action is set, run it
                     if (this.timeoutAction != null) this.timeoutAction.run();
                 }
@@ -1,17 +1,25 @@
 package com.github.m5rian.jdaCommandHandler.command;
 
 import com.github.m5rian.jdaCommandHandler.EventWaiter;
+import com.github.m5rian.jdaCommandHandler.commandServices.Blacklist;
 import com.github.m5rian.jdaCommandHandler.commandServices.IBlacklistService;
 import com.github.m5rian.jdaCommandHandler.commandServices.ICommandService;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class contains all information about an executed command.
@@ -25,8 +33,12 @@ public class CommandContext {
     private final String argumentsRaw; // Non-split arguments
 
     private final CommandData methodInfo; // The command service
+    private final List<String> suggestions; // Suggested commands for an unknown command
     private final ICommandService commandService; // Used command service
     private final IBlacklistService blacklistService; // Used blacklist service
+    private final Instant deadline; // Time until which the command may run, null if it has no timeout
+    private final CommandResponses responses; // Responses to commands, null if edits don't run commands again
+    private final boolean edit; // Does the command run again, because its message got edited?
 
     private final EventWaiter waiter; // Event waiter
 
@@ -38,6 +50,50 @@ public class CommandContext {
      * @param arguments message, without the executor.
      */
     public CommandContext(String prefix, MessageReceivedEvent event, String arguments, CommandData methodInfo, ICommandService commandService, IBlacklistService blacklistService) {
+        this(prefix, event, arguments, methodInfo, commandService, blacklistService, Collections.emptyList(), null, false);
+    }
+
+    /**
+     * Constructor for commands with a timeout
+     *
+     * @param prefix     Used prefix.
+     * @param event      The MessageReceivedEvent.
+     * @param arguments  message, without the executor.
+     * @param methodInfo The invoked command.
+     * @param deadline   The time until which the command may run. Can be null if the command has no timeout.
+     */
+    public CommandContext(String prefix, MessageReceivedEvent event, String arguments, CommandData methodInfo, ICommandService commandService, IBlacklistService blacklistService, @Nullable Instant deadline) {
+        this(prefix, event, arguments, methodInfo, commandService, blacklistService, Collections.emptyList(), deadline, false);
+    }
+
+    /**
+     * Constructor for commands which may run again on edits
+     *
+     * @param prefix     Used prefix.
+     * @param event      The MessageReceivedEvent.
+     * @param arguments  message, without the executor.
+     * @param methodInfo The invoked command.
+     * @param deadline   The time until which the command may run. Can be null if the command has no timeout.
+     * @param edit       Does the command run again, because its message got edited?
+     */
+    public CommandContext(String prefix, MessageReceivedEvent event, String arguments, CommandData methodInfo, ICommandService commandService, IBlacklistService blacklistService, @Nullable Instant deadline, boolean edit) {
+        this(prefix, event, arguments, methodInfo, commandService, blacklistService, Collections.emptyList(), deadline, edit);
+    }
+
+    /**
+     * Constructor for unknown commands
+     *
+     * @param prefix      Used prefix.
+     * @param event       The MessageReceivedEvent.
+     * @param arguments   message, without the executor.
+     * @param methodInfo  The invoked command. Null for an unknown command.
+     * @param suggestions Names of commands which are similar to the unknown command.
+     */
+    public CommandContext(String prefix, MessageReceivedEvent event, String arguments, @Nullable CommandData methodInfo, ICommandService commandService, IBlacklistService blacklistService, List<String> suggestions) {
+        this(prefix, event, arguments, methodInfo, commandService, blacklistService, suggestions, null, false);
+    }
+
+    private CommandContext(String prefix, MessageReceivedEvent event, String arguments, @Nullable CommandData methodInfo, ICommandService commandService, IBlacklistService blacklistService, List<String> suggestions, @Nullable Instant deadline, boolean edit) {
         this.prefix = prefix;
         this.event = event;
         if (arguments.equals("")) this.arguments = new String[0]; // If there no arguments, make an empty array
@@ -48,6 +104,10 @@ public class CommandContext {
         this.commandService = commandService;
         this.waiter = commandService.getEventWaiter();
         this.blacklistService = blacklistService;
+        this.suggestions = List.copyOf(suggestions);
+        this.deadline = deadline;
+        this.responses = commandService.getCommandResponses();
+        this.edit = edit;
     }
 
     /**
@@ -120,15 +180,86 @@ public class CommandContext {
     }
 
 
-    public List<String> getBlacklist() {
-        return this.blacklistService.userBlacklist;
+    /**
+     * @return Returns the {@link Blacklist} of the used command service.
+     */
+    public Blacklist getBlacklist() {
+        return this.blacklistService.getBlacklist();
     }
 
     /**
-     * @return Returns the {@link CommandEvent} of the invoked method.
+     * @return Returns the {@link CommandEvent} of the invoked method. Null if the command is unknown.
      */
+    @Nullable
     public CommandEvent getCommand() {
-        return this.methodInfo.getCommand();
+        return this.methodInfo == null ? null : this.methodInfo.getCommand();
+    }
+
+    /**
+     * @return Returns the {@link CommandData} of the invoked command. Null if the command is unknown.
+     */
+    @Nullable
+    public CommandData getCommandData() {
+        return this.methodInfo;
+    }
+
+    /**
+     * @return Returns the names of commands, which are similar to an unknown command. Empty for known commands.
+     */
+    public List<String> getSuggestions() {
+        return this.suggestions;
+    }
+
+    /**
+     * @return Returns true if the command runs again, because its message got edited.
+     */
+    public boolean isEdit() {
+        return this.edit;
+    }
+
+    /**
+     * Responds to the command. If the command runs again because its message got edited, the previous response gets edited instead.
+     *
+     * @param content The content of the response.
+     * @return Returns a {@link CompletableFuture}, which completes with the sent or edited response.
+     */
+    public CompletableFuture<Message> reply(String content) {
+        return reply(content, null);
+    }
+
+    /**
+     * Responds to the command. If the command runs again because its message got edited, the previous response gets edited instead.
+     *
+     * @param embed The embed of the response.
+     * @return Returns a {@link CompletableFuture}, which completes with the sent or edited response.
+     */
+    public CompletableFuture<Message> reply(MessageEmbed embed) {
+        return reply(null, embed);
+    }
+
+    /**
+     * Responds to the command. If the command runs again because its message got edited, the previous response gets edited instead.
+     *
+     * @param content The content of the response. Can be null if the response has an embed.
+     * @param embed   The embed of the response. Can be null if the response has a content.
+     * @return Returns a {@link CompletableFuture}, which completes with the sent or edited response.
+     */
+    public CompletableFuture<Message> reply(@Nullable String content, @Nullable MessageEmbed embed) {
+        if (content == null && embed == null) throw new IllegalArgumentException("A response needs a content or an embed");
+
+        final long messageId = this.event.getMessageIdLong();
+        final long previous = this.responses == null ? 0 : this.responses.getResponse(messageId);
+        final MessageChannel channel = this.getChannel();
+        MessageAction action;
+        // Send a new response
+        if (previous == 0) action = content != null ? channel.sendMessage(content) : channel.sendMessage(embed);
+        // Replace the whole previous response
+        else action = (content != null ? channel.editMessageById(previous, content) : channel.editMessageById(previous, embed)).override(true);
+        if (content != null && embed != null) action = action.embed(embed);
+
+        final CompletableFuture<Message> response = action.submit();
+        if (this.responses != null) response.thenAccept(message -> this.responses.setResponse(messageId, message.getIdLong()));
+        return response;
     }
 
     /**
@@ -144,4 +275,23 @@ public class CommandContext {
     public EventWaiter getWaiter() {
         return this.waiter;
     }
+
+    /**
+     * @return Returns the time until which the command may run or null if it has no timeout.
+     * Pass it on to slow calls, so they give up once the command would be interrupted anyway.
+     */
+    @Nullable
+    public Instant getDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * @return Returns the time the command has left until its deadline, never negative, or null if it has no timeout.
+     */
+    @Nullable
+    public Duration getRemainingTime() {
+        if (this.deadline == null) return null;
+        final Duration remaining = Duration.between(Instant.now(), this.deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
 }
@@ -1,8 +1,18 @@
 package com.github.m5rian.jdaCommandHandler.command;
 
 import com.github.m5rian.jdaCommandHandler.CommandHandler;
+import com.github.m5rian.jdaCommandHandler.CommandUtils;
+import com.github.m5rian.jdaCommandHandler.dispatch.ConcurrencyLimiter;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Marian
@@ -10,9 +20,20 @@ import java.lang.reflect.Method;
  * This class stores all information about a registered command.
  */
 public class CommandData {
+    private static final CommandInterceptor[] NO_INTERCEPTORS = new CommandInterceptor[0];
+
     private final Method method; // The actual method, which runs when the command is fired
     private final CommandHandler instance; // An instance of the class
     private final CommandEvent command; // The CommandEvent annotation
+    private final AtomicInteger runningInvocations = new AtomicInteger(); // Invocations which haven't finished yet
+    private final ConcurrencyLimiter concurrencyLimiter; // Limits concurrent invocations, null if unlimited
+    private final AtomicLong timeouts = new AtomicLong(); // Invocations which exceeded their timeout
+    private final LongAdder completedInvocations = new LongAdder(); // Invocations which completed, successfully or not
+    private final LongAdder totalLatency = new LongAdder(); // Summed up latency of completed invocations in nanoseconds
+    private final List<String> executors; // Name and aliases of the command
+    private final String fullName; // Name of the command including the names of its parents
+    private volatile int index = -1; // Dense index of the command name, assigned by the CommandRegistry
+    private volatile CommandInterceptor[] interceptors = NO_INTERCEPTORS; // Interceptors of the command, resolved by the CommandRegistry
 
     /**
      * @param instance The instance of the class, which is used to {@link Method#invoke(Object, Object...)} the command method.
@@ -23,6 +44,13 @@ public class CommandData {
         this.instance = instance;
         this.method = method;
         this.command = command;
+        this.concurrencyLimiter = command.concurrencyLimit() > 0 ? new ConcurrencyLimiter(command.concurrencyLimit()) : null;
+
+        final List<String> executors = new ArrayList<>();
+        executors.add(command.name()); // Add command name
+        Collections.addAll(executors, command.aliases()); // Add aliases
+        this.executors = Collections.unmodifiableList(executors);
+        this.fullName = CommandUtils.getFullName(command);
     }
 
     /**
@@ -45,4 +73,115 @@ public class CommandData {
     public CommandEvent getCommand() {
         return this.command;
     }
+
+    /**
+     * @return Returns the name and all aliases of the command.
+     */
+    public List<String> getExecutors() {
+        return this.executors;
+    }
+
+    /**
+     * @return Returns the name of the command, prefixed with the full name of its parent if it has one.
+     */
+    public String getFullName() {
+        return this.fullName;
+    }
+
+    /**
+     * @return Returns the dense index of the full command name or -1 if the command was never registered.
+     * Commands with the same full name share the same index, even across registrations.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * @param index The dense index of the command name.
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * @return Returns the {@link CommandInterceptor}s of the command in the order they run. The array must not be modified.
+     */
+    public CommandInterceptor[] getInterceptors() {
+        return this.interceptors;
+    }
+
+    /**
+     * @param interceptors The resolved interceptors of the command.
+     */
+    void setInterceptors(CommandInterceptor[] interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * @return Returns the {@link ConcurrencyLimiter} of the annotation or null if the annotation doesn't limit the concurrency.
+     */
+    @Nullable
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return this.concurrencyLimiter;
+    }
+
+    /**
+     * Marks the start of an invocation of the command method. Queued invocations are marked as well, so their module stays loaded.
+     */
+    public void invocationStarted() {
+        this.runningInvocations.incrementAndGet();
+    }
+
+    /**
+     * Marks the end of an invocation of the command method.
+     */
+    public void invocationFinished() {
+        this.runningInvocations.decrementAndGet();
+    }
+
+    /**
+     * @return Returns the amount of queued and running invocations of the command method. An invocation counts twice while its queued task still runs.
+     */
+    public int getRunningInvocations() {
+        return this.runningInvocations.get();
+    }
+
+    /**
+     * Marks that an invocation of the command method exceeded its timeout.
+     */
+    public void timedOut() {
+        this.timeouts.incrementAndGet();
+    }
+
+    /**
+     * @return Returns how often invocations of the command method exceeded their timeout.
+     */
+    public long getTimeouts() {
+        return this.timeouts.get();
+    }
+
+    /**
+     * Records the latency of a completed invocation of the command method.
+     *
+     * @param latency The time from the start of the invocation until it completed in nanoseconds.
+     */
+    public void invocationCompleted(long latency) {
+        this.completedInvocations.increment();
+        this.totalLatency.add(latency);
+    }
+
+    /**
+     * @return Returns the amount of completed invocations of the command method, including failed ones.
+     */
+    public long getCompletedInvocations() {
+        return this.completedInvocations.sum();
+    }
+
+    /**
+     * @return Returns the average latency of completed invocations of the command method or {@link Duration#ZERO} if none completed yet.
+     */
+    public Duration getAverageLatency() {
+        final long invocations = this.completedInvocations.sum();
+        return invocations == 0 ? Duration.ZERO : Duration.ofNanos(this.totalLatency.sum() / invocations);
+    }
 }
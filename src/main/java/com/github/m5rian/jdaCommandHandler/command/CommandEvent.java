@@ -11,6 +11,9 @@ import java.lang.annotation.Target;
 
 /**
  * This annotation marks a command as usable. It contains all important information to execute the command.
+ * <p>
+ * A command method can return a {@link java.util.concurrent.CompletionStage} to run asynchronously.
+ * The command counts as running until the stage completes and an exceptional completion is handled like a thrown exception.
  */
 @Retention(RetentionPolicy.RUNTIME) // Keep annotation at runtime
 @Target(ElementType.METHOD) // Only addable for methods
@@ -29,6 +32,15 @@ public @interface CommandEvent {
      */
     String[] aliases() default {};
 
+    /**
+     * Retrieves the full name of the parent command, for example {@code "config prefix"}.
+     * A command with a parent is executed with the name of the parent followed by its own name or one of its aliases.
+     * The aliases of the parents can be used as well. The parent doesn't need to be a registered command itself.
+     *
+     * @return The full name of the parent command or an empty String if the command has no parent.
+     */
+    String parent() default "";
+
     /**
      * Retrieves the required permissions for this command.
      *
@@ -73,4 +85,39 @@ public @interface CommandEvent {
      * @return Returns a matching emoji for the command.
      */
     String emoji() default "";
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the category of the command. The {@link CommandInterceptor}s of the category run for the command.
+     * <p>
+     * This can also be used in a {@link com.github.m5rian.jdaCommandHandler.commandMessages.CommandMessageFactory}
+     * or {@link com.github.m5rian.jdaCommandHandler.commandMessages.CommandUsageFactory}.
+     *
+     * @return Returns the category or an empty String if the command has no category.
+     */
+    String category() default "";
+
+    /**
+     * Retrieves if the command runs again once its message gets edited, see {@link CommandResponses}.
+     * Disable this for commands which mustn't run twice, for example commands which charge a user.
+     *
+     * @return Returns true if the command runs again on edits.
+     */
+    boolean reexecuteOnEdit() default true;
+
+    /**
+     * Retrieves the maximum amount of invocations of the command, which run at the same time.
+     * The actual limit adapts to the latency of the command, see {@link com.github.m5rian.jdaCommandHandler.dispatch.ConcurrencyLimiter}.
+     *
+     * @return Returns the maximum concurrency or 0 if the command isn't limited.
+     */
+    int concurrencyLimit() default 0;
+
+    /**
+     * Retrieves the maximum execution time of the command in milliseconds.
+     * Once the command runs longer, its thread gets interrupted and the invocation counts as failed.
+     * Threads are only interrupted if the command service has a dispatcher, asynchronous commands time out in any case.
+     *
+     * @return Returns the timeout, 0 to use the default timeout of the command service or a negative value to never time out.
+     */
+    long timeout() default 0;
+}
@@ -0,0 +1,31 @@
+package com.github.m5rian.jdaCommandHandler.command;
+
+import javax.annotation.Nullable;
+
+/**
+ * @author Marian
+ * <p>
+ * Runs cross-cutting logic around commands, for example logging, guild checks or premium gating.
+ * <p>
+ * Interceptors are registered globally or for a {@link CommandEvent#category()} in the {@link CommandInterceptors}.
+ * The interceptors of a command run in the order they were registered, global interceptors first.
+ */
+public interface CommandInterceptor {
+    /**
+     * Runs before the command.
+     *
+     * @param ctx The {@link CommandContext} of the command.
+     * @return Returns false to not run the command and the remaining interceptors.
+     */
+    boolean beforeCommand(CommandContext ctx);
+
+    /**
+     * Runs once the command completed or got stopped, but only if {@link #beforeCommand(CommandContext)} of this interceptor returned true.
+     * The interceptors run in reverse order.
+     *
+     * @param ctx   The {@link CommandContext} of the command.
+     * @param error The exception of the command. Null if the command succeeded or didn't run.
+     */
+    default void afterCommand(CommandContext ctx, @Nullable Throwable error) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.m5rian.jdaCommandHandler.command;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores all {@link CommandInterceptor}s of one command service.
+ * <p>
+ * The interceptors of a command are resolved into a flat array once the command gets registered and again if the interceptors change.
+ * Running the interceptors of a command is only a loop over that array and never allocates anything.
+ */
+public class CommandInterceptors {
+    private static final CommandInterceptor[] NONE = new CommandInterceptor[0];
+
+    private final Runnable onChange; // Resolves the interceptors of all commands again
+    private volatile CommandInterceptor[] global = NONE; // Interceptors of all commands
+    private volatile Map<String, CommandInterceptor[]> categories = Map.of(); // Category to its interceptors
+
+    /**
+     * @param onChange Runs after the interceptors changed.
+     */
+    CommandInterceptors(Runnable onChange) {
+        this.onChange = onChange;
+    }
+
+    /**
+     * Registers an interceptor for all commands.
+     *
+     * @param interceptor The interceptor.
+     */
+    public void register(CommandInterceptor interceptor) {
+        synchronized (this) {
+            this.global = append(this.global, interceptor);
+        }
+        this.onChange.run();
+    }
+
+    /**
+     * Registers an interceptor for all commands of a category.
+     *
+     * @param category    The category of the commands, see {@link CommandEvent#category()}.
+     * @param interceptor The interceptor.
+     */
+    public void register(String category, CommandInterceptor interceptor) {
+        if (category.isEmpty()) throw new IllegalArgumentException("The category can't be empty");
+
+        synchronized (this) {
+            final Map<String, CommandInterceptor[]> updated = new HashMap<>(this.categories);
+            updated.put(category, append(updated.getOrDefault(category, NONE), interceptor));
+            this.categories = Map.copyOf(updated);
+        }
+        this.onChange.run();
+    }
+
+    /**
+     * Unregisters an interceptor from all commands and categories.
+     *
+     * @param interceptor The interceptor.
+     */
+    public void unregister(CommandInterceptor interceptor) {
+        synchronized (this) {
+            this.global = remove(this.global, interceptor);
+            final Map<String, CommandInterceptor[]> updated = new HashMap<>();
+            this.categories.forEach((category, interceptors) -> {
+                final CommandInterceptor[] remaining = remove(interceptors, interceptor);
+                if (remaining.length != 0) updated.put(category, remaining);
+            });
+            this.categories = Map.copyOf(updated);
+        }
+        this.onChange.run();
+    }
+
+    /**
+     * @param command A command.
+     * @return Returns all interceptors of the command, global interceptors first. The array must not be modified.
+     */
+    public CommandInterceptor[] resolve(CommandData command) {
+        final CommandInterceptor[] global = this.global;
+        final String category = command.getCommand().category();
+        final CommandInterceptor[] categorized = category.isEmpty() ? NONE : this.categories.getOrDefault(category, NONE);
+        if (categorized.length == 0) return global; // Arrays are never modified, so they can be shared
+        if (global.length == 0) return categorized;
+
+        final CommandInterceptor[] interceptors = Arrays.copyOf(global, global.length + categorized.length);
+        System.arraycopy(categorized, 0, interceptors, global.length, categorized.length);
+        return interceptors;
+    }
+
+    private static CommandInterceptor[] append(CommandInterceptor[] interceptors, CommandInterceptor interceptor) {
+        final CommandInterceptor[] appended = Arrays.copyOf(interceptors, interceptors.length + 1);
+        appended[interceptors.length] = interceptor;
+        return appended;
+    }
+
+    private static CommandInterceptor[] remove(CommandInterceptor[] interceptors, CommandInterceptor interceptor) {
+        return Arrays.stream(interceptors).filter(registered -> registered != interceptor).toArray(CommandInterceptor[]::new);
+    }
+}
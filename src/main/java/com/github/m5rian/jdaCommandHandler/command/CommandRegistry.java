@@ -0,0 +1,325 @@
+package com.github.m5rian.jdaCommandHandler.command;
+
+import com.github.m5rian.jdaCommandHandler.utils.BkTree;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores all registered commands of one command service.
+ * <p>
+ * The commands are kept in an immutable snapshot, which gets replaced as a whole on every change.
+ * Because of that the dispatching of commands never locks and never sees a half finished registration,
+ * while commands can still be registered and unregistered at runtime.
+ */
+public class CommandRegistry {
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final Map<String, Integer> indices = new ConcurrentHashMap<>(); // Command name to its dense index
+    private final List<String> names = new CopyOnWriteArrayList<>(); // Dense index to command name
+    private final CommandInterceptors interceptors = new CommandInterceptors(this::resolveInterceptors); // Interceptors of the commands
+
+    /**
+     * Registers commands.
+     *
+     * @param commands The commands to register.
+     */
+    public void register(Collection<CommandData> commands) {
+        update(command -> false, commands);
+    }
+
+    /**
+     * Unregisters all commands which match the filter.
+     *
+     * @param filter A filter which returns true for commands to unregister.
+     */
+    public void unregister(Predicate<CommandData> filter) {
+        update(filter, Collections.emptyList());
+    }
+
+    /**
+     * Unregisters and registers commands in a single step.
+     * Commands are either dispatched to the old or to the new commands, but never to none of them.
+     *
+     * @param filter   A filter which returns true for commands to unregister.
+     * @param commands The commands to register.
+     */
+    public void replace(Predicate<CommandData> filter, Collection<CommandData> commands) {
+        update(filter, commands);
+    }
+
+    /**
+     * Unregisters all commands.
+     */
+    public void clear() {
+        this.snapshot.set(Snapshot.EMPTY);
+    }
+
+    /**
+     * @return Returns the {@link CommandInterceptors} of the commands.
+     */
+    public CommandInterceptors getInterceptors() {
+        return this.interceptors;
+    }
+
+    /**
+     * @return Returns an immutable list of all registered commands.
+     */
+    public List<CommandData> getCommands() {
+        return this.snapshot.get().commands;
+    }
+
+    /**
+     * Walks the command tree word by word and finds the deepest commands, which match the start of a message.
+     *
+     * @param msg A command message, without the prefix.
+     * @return Returns the matching commands and where their arguments start or null if no command matches.
+     */
+    @Nullable
+    public Route route(String msg) {
+        Node node = this.snapshot.get().root;
+        Route route = null;
+        int start = 0;
+        while (start <= msg.length()) {
+            int end = start;
+            while (end < msg.length() && !Character.isWhitespace(msg.charAt(end))) end++; // Find end of word
+            if (end == start) break; // No more words
+
+            final String word = msg.substring(start, end).toLowerCase(Locale.ROOT);
+            Node next = node.children.get(word);
+            final Node alias = node.aliases.get(word);
+            if (next == null || next.commands.length == 0 && alias != null) next = alias; // A command name wins over an alias
+            node = next;
+            if (node == null) break; // No deeper command
+            if (node.commands.length != 0) route = new Route(node.commands, end);
+            start = end + 1; // Skip whitespace
+        }
+        return route;
+    }
+
+    /**
+     * Finds the names and aliases of top level commands, which are similar to a word.
+     *
+     * @param word        The first word of a message, which isn't a command.
+     * @param maxDistance The maximum amount of edits to turn the word into a command name.
+     * @param limit       The maximum amount of suggestions.
+     * @return Returns the closest command names and aliases, the closest first.
+     */
+    public List<String> suggest(String word, int maxDistance, int limit) {
+        return this.snapshot.get().getSuggestions().search(word.toLowerCase(Locale.ROOT), maxDistance, limit);
+    }
+
+    /**
+     * @param command A registered command.
+     * @return Returns all registered commands, which have the command as direct parent.
+     */
+    public List<CommandData> getChildren(CommandData command) {
+        return this.snapshot.get().children.getOrDefault(command, Collections.emptyList());
+    }
+
+    /**
+     * Returns the dense index of a full command name.
+     * Every distinct command name gets the next free index once it's used the first time,
+     * the index stays the same for the whole lifetime of the registry.
+     * Names are case-insensitive like the routing of commands.
+     *
+     * @param name The full name of a command.
+     * @return Returns the index of the command name.
+     */
+    public int getIndex(String name) {
+        final String key = name.toLowerCase(Locale.ROOT);
+        final Integer index = this.indices.get(key);
+        if (index != null) return index;
+
+        synchronized (this.names) {
+            return this.indices.computeIfAbsent(key, k -> {
+                this.names.add(k);
+                return this.names.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Looks up the dense index of a full command name without assigning a new one.
+     *
+     * @param name The full name of a command.
+     * @return Returns the index of the command name or -1 if the name never got an index.
+     */
+    public int findIndex(String name) {
+        final Integer index = this.indices.get(name.toLowerCase(Locale.ROOT));
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @param index A dense index of a command name.
+     * @return Returns the lowercase command name of the index or null if the index wasn't assigned yet.
+     */
+    @Nullable
+    public String getName(int index) {
+        return index >= 0 && index < this.names.size() ? this.names.get(index) : null;
+    }
+
+    // Synchronized with resolveInterceptors, so a command never misses a change of the interceptors
+    private synchronized void update(Predicate<CommandData> filter, Collection<CommandData> added) {
+        final List<CommandData> addedCommands = List.copyOf(added);
+        for (CommandData command : addedCommands) {
+            command.setIndex(getIndex(command.getFullName())); // Assign index before the command is visible
+            command.setInterceptors(this.interceptors.resolve(command)); // Resolve interceptors before the command is visible
+        }
+        this.snapshot.updateAndGet(snapshot -> {
+            final List<CommandData> commands = new ArrayList<>(snapshot.commands.size() + addedCommands.size());
+            for (CommandData command : snapshot.commands) {
+                if (!filter.test(command)) commands.add(command);
+            }
+            commands.addAll(addedCommands);
+            return new Snapshot(commands);
+        });
+    }
+
+    private synchronized void resolveInterceptors() {
+        for (CommandData command : this.snapshot.get().commands) {
+            command.setInterceptors(this.interceptors.resolve(command));
+        }
+    }
+
+    /**
+     * @param executor A command executor.
+     * @return Returns the first word of the executor in lower case.
+     */
+    public static String getFirstWord(String executor) {
+        int end = 0;
+        while (end < executor.length() && !Character.isWhitespace(executor.charAt(end))) end++;
+        return executor.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The result of {@link CommandRegistry#route(String)}.
+     *
+     * @param commands       The matching commands in the order they were registered. The array must not be changed.
+     * @param argumentsStart The index in the message where the executor ends. Arguments follow after a whitespace.
+     */
+    public record Route(CommandData[] commands, int argumentsStart) {
+    }
+
+    /**
+     * A node in the command tree. Aliases of a command get their own node, which shares the next words with the node of its name.
+     */
+    private static class Node {
+        private final Map<String, Node> children; // Next word to the node of the command name
+        private final Map<String, Node> aliases; // Next word to the node of the alias
+        private CommandData[] commands = Snapshot.NONE; // Commands which end at this node
+
+        private Node() {
+            this.children = new HashMap<>();
+            this.aliases = new HashMap<>();
+        }
+
+        /**
+         * Creates the node of an alias. It has its own commands, but shares the children and their aliases with the command.
+         *
+         * @param target The node of the command name.
+         */
+        private Node(Node target) {
+            this.children = target.children;
+            this.aliases = target.aliases;
+        }
+
+        /**
+         * @param words The words to walk along. Missing nodes get created.
+         * @return Returns the node at the end of the words.
+         */
+        private Node walk(String[] words) {
+            Node node = this;
+            for (String word : words) node = node.children.computeIfAbsent(word, key -> new Node());
+            return node;
+        }
+
+        private void add(CommandData command) {
+            if (Arrays.asList(this.commands).contains(command)) return;
+            this.commands = Arrays.copyOf(this.commands, this.commands.length + 1);
+            this.commands[this.commands.length - 1] = command;
+        }
+    }
+
+    /**
+     * An immutable state of the registry.
+     */
+    private static class Snapshot {
+        private static final CommandData[] NONE = new CommandData[0];
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+        private final List<CommandData> commands; // All commands in the order they were registered
+        private final Node root = new Node(); // Root of the command tree
+        private final Map<CommandData, List<CommandData>> children; // Command to its direct children
+        private volatile BkTree suggestions; // Index of all top level words, built on the first unknown command
+
+        private Snapshot(List<CommandData> commands) {
+            this.commands = List.copyOf(commands);
+
+            // Add parents before their children, so children can use the aliases of their parents
+            final List<CommandData> sorted = new ArrayList<>(this.commands);
+            sorted.sort(Comparator.comparingInt(command -> split(command.getCommand().parent()).length));
+
+            for (CommandData command : sorted) {
+                final Node parent = this.root.walk(split(command.getCommand().parent())); // Get node of parent
+                final Node node = parent.walk(split(command.getCommand().name())); // Get node of command
+                node.add(command);
+                // Aliases get their own nodes, so a command with the name of an alias is never added to another command
+                for (String alias : command.getCommand().aliases()) {
+                    final String[] words = split(alias);
+                    if (words.length == 0) continue;
+
+                    final Node aliasParent = parent.walk(Arrays.copyOf(words, words.length - 1));
+                    aliasParent.aliases.computeIfAbsent(words[words.length - 1], key -> new Node(node)).add(command); // Alias can be used by more than one command
+                }
+            }
+
+            // Link children to the commands of their parent node
+            final Map<CommandData, List<CommandData>> children = new HashMap<>();
+            for (CommandData command : this.commands) {
+                if (command.getCommand().parent().isBlank()) continue; // Command has no parent
+
+                for (CommandData parent : this.root.walk(split(command.getCommand().parent())).commands) {
+                    children.computeIfAbsent(parent, key -> new ArrayList<>()).add(command);
+                }
+            }
+            children.replaceAll((parent, list) -> List.copyOf(list));
+            this.children = children;
+        }
+
+        /**
+         * @return Returns the {@link BkTree} of all top level command names and aliases.
+         */
+        private BkTree getSuggestions() {
+            BkTree suggestions = this.suggestions;
+            if (suggestions == null) {
+                // Only suggest words which lead to a command
+                final List<String> words = new ArrayList<>();
+                this.root.children.forEach((word, node) -> {
+                    if (node.commands.length != 0 || !node.children.isEmpty()) words.add(word);
+                });
+                this.root.aliases.keySet().forEach(word -> {
+                    if (!words.contains(word)) words.add(word);
+                });
+                words.sort(null); // Build the same tree for the same words
+                suggestions = new BkTree(words);
+                this.suggestions = suggestions;
+            }
+            return suggestions;
+        }
+
+        /**
+         * @param executor A command executor.
+         * @return Returns all words of the executor in lower case.
+         */
+        private static String[] split(String executor) {
+            final String trimmed = executor.trim().toLowerCase(Locale.ROOT);
+            return trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+");
+        }
+    }
+}
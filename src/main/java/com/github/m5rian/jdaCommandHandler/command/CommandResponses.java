@@ -0,0 +1,123 @@
+package com.github.m5rian.jdaCommandHandler.command;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author Marian
+ * <p>
+ * Remembers which messages recently invoked a command and which message the bot responded with.
+ * Once the content of such a message changes, the command runs again and edits its previous response instead of sending a new one.
+ * Updates which don't change the content, like pinning the message, are recognized by a hash of the content.
+ * <p>
+ * The map is bounded, the oldest messages are dropped first. The age of a message is read from its snowflake id,
+ * so an edit of an older message is rejected without a lookup.
+ */
+public class CommandResponses {
+    private static final long DISCORD_EPOCH = 1420070400000L; // Start of snowflake timestamps in milliseconds since the epoch
+
+    private final int capacity; // Maximum amount of remembered messages
+    private final long window; // Time in milliseconds after the creation of a message, until which its edits run the command again
+    private final Map<Long, Entry> responses = new LinkedHashMap<>(); // Invoking message id to its entry. Oldest first
+
+    /**
+     * @param capacity The maximum amount of remembered messages.
+     * @param window   The time in milliseconds after the creation of a message, until which its edits run the command again.
+     */
+    public CommandResponses(int capacity, long window) {
+        if (capacity <= 0) throw new IllegalArgumentException("The capacity must be positive");
+        this.capacity = capacity;
+        this.window = window;
+    }
+
+    /**
+     * Remembers a message, which invoked a command. An already remembered message is kept as it is.
+     *
+     * @param messageId The id of the message.
+     * @param content   The raw content of the message.
+     */
+    public synchronized void track(long messageId, String content) {
+        if (isExpired(messageId)) return;
+
+        this.responses.putIfAbsent(messageId, new Entry(content.hashCode()));
+        // Drop expired and the oldest messages
+        final Iterator<Long> iterator = this.responses.keySet().iterator();
+        while (iterator.hasNext()) {
+            final long oldest = iterator.next();
+            if (this.responses.size() <= this.capacity && !isExpired(oldest)) break;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @param messageId The id of a message.
+     * @return Returns if the message invoked a command within the window.
+     */
+    public boolean contains(long messageId) {
+        if (isExpired(messageId)) return false; // Checked without locking
+        synchronized (this) {
+            return this.responses.containsKey(messageId);
+        }
+    }
+
+    /**
+     * Remembers the new content of an updated message.
+     *
+     * @param messageId The id of a message.
+     * @param content   The raw content of the message after the update.
+     * @return Returns true if the message invoked a command within the window and its content changed since it ran the last time.
+     */
+    public boolean update(long messageId, String content) {
+        if (isExpired(messageId)) return false; // Checked without locking
+        synchronized (this) {
+            final Entry entry = this.responses.get(messageId);
+            if (entry == null || entry.contentHash == content.hashCode()) return false;
+            entry.contentHash = content.hashCode();
+            return true;
+        }
+    }
+
+    /**
+     * @param messageId The id of a message.
+     * @return Returns the id of the response to the message or 0 if the bot didn't respond to it within the window.
+     */
+    public long getResponse(long messageId) {
+        if (isExpired(messageId)) return 0;
+        synchronized (this) {
+            final Entry entry = this.responses.get(messageId);
+            return entry != null ? entry.response : 0;
+        }
+    }
+
+    /**
+     * Remembers the response to a message. Nothing happens if the message isn't remembered.
+     *
+     * @param messageId  The id of the message, which invoked a command.
+     * @param responseId The id of the response.
+     */
+    public synchronized void setResponse(long messageId, long responseId) {
+        final Entry entry = this.responses.get(messageId);
+        if (entry != null) entry.response = responseId;
+    }
+
+    /**
+     * @return Returns the amount of remembered messages.
+     */
+    public synchronized int size() {
+        return this.responses.size();
+    }
+
+    private boolean isExpired(long messageId) {
+        return System.currentTimeMillis() - ((messageId >>> 22) + DISCORD_EPOCH) > this.window;
+    }
+
+    private static class Entry {
+        private long response; // Id of the response, 0 until the bot responded
+        private int contentHash; // Hash of the content, which ran the command the last time
+
+        private Entry(int contentHash) {
+            this.contentHash = contentHash;
+        }
+    }
+}
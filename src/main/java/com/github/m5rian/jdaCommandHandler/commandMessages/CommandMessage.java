@@ -2,7 +2,6 @@ package com.github.m5rian.jdaCommandHandler.commandMessages;
 
 import com.github.m5rian.jdaCommandHandler.command.CommandContext;
 import net.dv8tion.jda.api.EmbedBuilder;
-import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 
 import java.awt.*;
@@ -284,16 +283,17 @@ public class CommandMessage {
     /**
      * Builds a message with a {@link CommandMessageFactory} and the later made changes.
      * This message would get send to the current channel.
+     * If the command runs again because its message got edited, the previous response gets edited instead.
      */
     public void send() {
         check(); // Check for various errors
 
         final EmbedBuilder embed = getEmbed(); // Get embed
+        if (this.message == null && embed.isEmpty()) return; // Nothing to send
 
-        final MessageChannel channel = this.ctx.getChannel();
-        if (this.message != null && embed.isEmpty()) channel.sendMessage(this.message).queue();
-        if (this.message != null && !embed.isEmpty()) channel.sendMessage(this.message).embed(embed.build()).queue();
-        if (this.message == null && !embed.isEmpty()) channel.sendMessage(embed.build()).queue();
+        this.ctx.reply(this.message, embed.isEmpty() ? null : embed.build()).whenComplete((response, error) -> {
+            if (error != null) error.printStackTrace();
+        });
     }
 
     /**
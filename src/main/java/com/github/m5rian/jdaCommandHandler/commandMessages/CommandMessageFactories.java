@@ -13,6 +13,9 @@ public class CommandMessageFactories {
     private CommandMessageFactory errorFactory;
     private CommandMessageFactory warningFactory;
     private CommandUsageFactory usageFactory;
+    private CommandMessageFactory unknownCommandFactory;
+    private CommandMessageFactory busyFactory;
+    private CommandMessageFactory circuitOpenFactory;
 
     /**
      * @param infoFactory A created {@link CommandMessageFactory} for information.
@@ -42,6 +45,27 @@ public class CommandMessageFactories {
         this.usageFactory = usageFactory;
     }
 
+    /**
+     * @param unknownCommandFactory A created {@link CommandMessageFactory} for unknown commands.
+     */
+    public void setUnknownCommandFactory(CommandMessageFactory unknownCommandFactory) {
+        this.unknownCommandFactory = unknownCommandFactory;
+    }
+
+    /**
+     * @param busyFactory A created {@link CommandMessageFactory} for commands, which are shed because the bot is overloaded.
+     */
+    public void setBusyFactory(CommandMessageFactory busyFactory) {
+        this.busyFactory = busyFactory;
+    }
+
+    /**
+     * @param circuitOpenFactory A created {@link CommandMessageFactory} for commands, which are short-circuited because they fail too often.
+     */
+    public void setCircuitOpenFactory(CommandMessageFactory circuitOpenFactory) {
+        this.circuitOpenFactory = circuitOpenFactory;
+    }
+
     /**
      * @return Returns the {@link CommandMessageFactory} for information.
      */
@@ -69,4 +93,25 @@ public class CommandMessageFactories {
     public CommandUsageFactory getUsageFactory() {
         return usageFactory;
     }
+
+    /**
+     * @return Returns the {@link CommandMessageFactory} for unknown commands.
+     */
+    public CommandMessageFactory getUnknownCommandFactory() {
+        return unknownCommandFactory;
+    }
+
+    /**
+     * @return Returns the {@link CommandMessageFactory} for commands, which are shed because the bot is overloaded.
+     */
+    public CommandMessageFactory getBusyFactory() {
+        return busyFactory;
+    }
+
+    /**
+     * @return Returns the {@link CommandMessageFactory} for commands, which are short-circuited because they fail too often.
+     */
+    public CommandMessageFactory getCircuitOpenFactory() {
+        return circuitOpenFactory;
+    }
 }
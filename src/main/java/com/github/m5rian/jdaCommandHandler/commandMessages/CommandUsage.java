@@ -1,6 +1,7 @@
 package com.github.m5rian.jdaCommandHandler.commandMessages;
 
 import com.github.m5rian.jdaCommandHandler.command.CommandContext;
+import com.github.m5rian.jdaCommandHandler.command.CommandData;
 import com.github.m5rian.jdaCommandHandler.command.CommandEvent;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Message;
@@ -34,6 +35,7 @@ public class CommandUsage {
     private Class[] classes; // Classes to get the usage from
     private String[] allowedMethods = null; // Names of methods to add as usage
     private String[] forbiddenMethods = null; // Names of methods which shouldn't get added
+    private boolean subcommands = false; // Should the subcommands of the command get added?
 
     public CommandUsage(String message, BiFunction<CommandContext, CommandEvent, String> text, EmbedBuilder embed, BiFunction<CommandContext, CommandEvent, String> description, BiFunction<CommandContext, CommandEvent, MessageEmbed.Field> field,
                         CommandContext ctx, boolean reply) {
@@ -79,27 +81,23 @@ public class CommandUsage {
         return this;
     }
 
+    /**
+     * Adds the usages of all subcommands of the executed command, including their subcommands.
+     * Subcommands are added depth first, right after their parent.
+     *
+     * @return Returns {@link CommandUsage} for chaining purpose.
+     */
+    public CommandUsage addSubcommands() {
+        this.subcommands = true;
+        return this;
+    }
+
     private void buildEmbed() {
         // No command was provided
         if (this.classes == null) {
             final CommandEvent commandInfo = ctx.getCommand(); // Get info about command
-
-            // Normal text is used to display commands
-            if (this.text != null) {
-                final String usage = this.text.apply(this.ctx, commandInfo); // Get usage for command
-                message += "\n" + usage; // Append command usage in message
-            }
-
-            // Use description to display commands
-            if (this.description != null) {
-                final String usage = this.description.apply(this.ctx, commandInfo); // Get usage for command
-                embed.appendDescription("\n" + usage); // Append command usage to description
-            }
-            // Use fields to display commands
-            else if (this.field != null) {
-                final MessageEmbed.Field usage = this.field.apply(this.ctx, commandInfo); // Get usage for command
-                embed.addField(usage); // Add command usage as field
-            }
+            addUsage(commandInfo);
+            if (this.subcommands) addSubcommandUsages(ctx.getCommandData()); // Add usages of subcommands
         }
         // Specific commands were provided
         else {
@@ -114,23 +112,7 @@ public class CommandUsage {
                     // Command annotation is present
                     if (method.isAnnotationPresent(CommandEvent.class)) {
                         final CommandEvent commandInfo = method.getAnnotation(CommandEvent.class); // Get info about command
-
-                        // Normal text is used to display commands
-                        if (this.text != null) {
-                            final String usage = this.text.apply(this.ctx, commandInfo); // Get usage for command
-                            this.message += "\n" + usage; // Append command usage in message
-                        }
-
-                        // Use description to display commands
-                        if (this.description != null) {
-                            final String usage = this.description.apply(this.ctx, commandInfo); // Get usage for command
-                            this.embed.appendDescription("\n" + usage); // Append command usage to description
-                        }
-                        // Use fields to display commands
-                        else if (this.field != null) {
-                            final MessageEmbed.Field usage = this.field.apply(this.ctx, commandInfo); // Get usage for command
-                            this.embed.addField(usage); // Add command usage as field
-                        }
+                        addUsage(commandInfo);
                     }
                 }
             }
@@ -140,6 +122,42 @@ public class CommandUsage {
         if (!this.fields.isEmpty()) this.fields.forEach(this.embed::addField);
     }
 
+    /**
+     * Adds the usage of a command with the set up style.
+     *
+     * @param commandInfo The {@link CommandEvent} of the command.
+     */
+    private void addUsage(CommandEvent commandInfo) {
+        // Normal text is used to display commands
+        if (this.text != null) {
+            final String usage = this.text.apply(this.ctx, commandInfo); // Get usage for command
+            this.message += "\n" + usage; // Append command usage in message
+        }
+
+        // Use description to display commands
+        if (this.description != null) {
+            final String usage = this.description.apply(this.ctx, commandInfo); // Get usage for command
+            this.embed.appendDescription("\n" + usage); // Append command usage to description
+        }
+        // Use fields to display commands
+        else if (this.field != null) {
+            final MessageEmbed.Field usage = this.field.apply(this.ctx, commandInfo); // Get usage for command
+            this.embed.addField(usage); // Add command usage as field
+        }
+    }
+
+    /**
+     * Adds the usages of all subcommands of a command, depth first.
+     *
+     * @param command The parent command.
+     */
+    private void addSubcommandUsages(CommandData command) {
+        for (CommandData subcommand : this.ctx.getCommandService().getCommandRegistry().getChildren(command)) {
+            addUsage(subcommand.getCommand());
+            addSubcommandUsages(subcommand);
+        }
+    }
+
     public void send() {
         final MessageChannel channel = this.ctx.getChannel(); // Get channel
         final Message msg = ctx.getEvent().getMessage(); // Get message from author
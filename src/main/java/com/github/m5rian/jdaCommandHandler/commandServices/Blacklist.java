@@ -0,0 +1,170 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.utils.LongHashSet;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores all ids which are banned from using commands.
+ * Ids can be banned for a {@link Scope#USER}, a whole {@link Scope#GUILD} or a single {@link Scope#CHANNEL}.
+ * <p>
+ * Lookups don't lock and don't box any ids, so checking an id is cheap even with a few hundred thousand entries.
+ * Changes are synchronized and reported to a {@link Listener}, for example a {@link BlacklistStore}.
+ */
+public class Blacklist {
+    private final LongHashSet users = new LongHashSet(); // Banned user ids
+    private final LongHashSet guilds = new LongHashSet(); // Banned guild ids
+    private final LongHashSet channels = new LongHashSet(); // Banned channel ids
+    private Listener listener; // Gets notified about changes
+
+    /**
+     * The scopes in which ids can be banned.
+     */
+    public enum Scope {
+        /**
+         * The user can't use any commands.
+         */
+        USER,
+        /**
+         * No commands can be used in the guild.
+         */
+        GUILD,
+        /**
+         * No commands can be used in the channel.
+         */
+        CHANNEL
+    }
+
+    /**
+     * Gets notified about every change of a {@link Blacklist}.
+     * All methods are called while the blacklist is locked, so changes arrive in the order they were made.
+     */
+    public interface Listener {
+        /**
+         * @param scope The scope of the id.
+         * @param id    The id which got banned.
+         */
+        void onAdd(Scope scope, long id);
+
+        /**
+         * @param scope The scope of the id.
+         * @param id    The id which got removed from the blacklist.
+         */
+        void onRemove(Scope scope, long id);
+
+        /**
+         * Fires once a scope was changed in bulk.
+         *
+         * @param scope The scope which got changed.
+         */
+        void onBulkChange(Scope scope);
+    }
+
+    /**
+     * Checks if a command usage is banned in any scope.
+     *
+     * @param userId    The id of the user.
+     * @param guildId   The id of the guild or 0 if the command wasn't used in a guild.
+     * @param channelId The id of the channel or 0 if there is no channel.
+     * @return Returns true if the user, guild or channel is on the blacklist.
+     */
+    public boolean isBlacklisted(long userId, long guildId, long channelId) {
+        return this.users.contains(userId) || this.guilds.contains(guildId) || this.channels.contains(channelId);
+    }
+
+    /**
+     * @param scope The scope of the id.
+     * @param id    The id to check.
+     * @return Returns if the id is on the blacklist.
+     */
+    public boolean contains(Scope scope, long id) {
+        return getSet(scope).contains(id);
+    }
+
+    /**
+     * @param scope The scope of the id.
+     * @param id    The id to ban.
+     * @return Returns true if the id wasn't on the blacklist already.
+     */
+    public synchronized boolean add(Scope scope, long id) {
+        final boolean added = getSet(scope).add(id);
+        if (added && this.listener != null) this.listener.onAdd(scope, id);
+        return added;
+    }
+
+    /**
+     * @param scope The scope of the ids.
+     * @param ids   The ids to ban.
+     */
+    public synchronized void addAll(Scope scope, long... ids) {
+        getSet(scope).addAll(ids);
+        if (this.listener != null) this.listener.onBulkChange(scope);
+    }
+
+    /**
+     * Replaces all ids of a scope at once.
+     *
+     * @param scope The scope of the ids.
+     * @param ids   The new banned ids.
+     */
+    public synchronized void replaceAll(Scope scope, long... ids) {
+        getSet(scope).replaceAll(ids);
+        if (this.listener != null) this.listener.onBulkChange(scope);
+    }
+
+    /**
+     * @param scope The scope of the id.
+     * @param id    The id to remove from the blacklist.
+     * @return Returns true if the id was on the blacklist.
+     */
+    public synchronized boolean remove(Scope scope, long id) {
+        final boolean removed = getSet(scope).remove(id);
+        if (removed && this.listener != null) this.listener.onRemove(scope, id);
+        return removed;
+    }
+
+    /**
+     * @param scope The scope to clear.
+     */
+    public synchronized void clear(Scope scope) {
+        getSet(scope).clear();
+        if (this.listener != null) this.listener.onBulkChange(scope);
+    }
+
+    /**
+     * @param scope The scope to count the ids of.
+     * @return Returns the amount of banned ids in the scope.
+     */
+    public int size(Scope scope) {
+        return getSet(scope).size();
+    }
+
+    /**
+     * @param scope The scope to get the ids of.
+     * @return Returns a copy of all banned ids of the scope.
+     */
+    public long[] getIds(Scope scope) {
+        return getSet(scope).toArray();
+    }
+
+    /**
+     * @param listener A {@link Listener} which gets notified about every change. Can be null to remove the current listener.
+     */
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * The returned set must not be changed directly, because the {@link Listener} wouldn't get notified.
+     *
+     * @param scope The scope to get the set of.
+     * @return Returns the set which stores the ids of the scope.
+     */
+    LongHashSet getSet(Scope scope) {
+        return switch (scope) {
+            case USER -> this.users;
+            case GUILD -> this.guilds;
+            case CHANNEL -> this.channels;
+        };
+    }
+}
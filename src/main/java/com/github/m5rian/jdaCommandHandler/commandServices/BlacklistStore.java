@@ -0,0 +1,155 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.utils.LongSetFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Marian
+ * <p>
+ * Persists a {@link Blacklist} in a directory, so it's available right after a restart without loading it from a database.
+ * Every scope is stored with a {@link LongSetFile}: a sorted snapshot which gets memory-mapped on startup
+ * and an append-only log of all changes since then.
+ * The log gets compacted into a new snapshot periodically.
+ */
+public class BlacklistStore implements Blacklist.Listener, Closeable {
+    private final Logger LOGGER = LoggerFactory.getLogger(BlacklistStore.class);
+    private final Map<Blacklist.Scope, LongSetFile> files = new EnumMap<>(Blacklist.Scope.class); // Files of each scope
+    private final int compactThreshold; // Amount of logged changes until the log gets compacted
+    private final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "BlacklistStore-Compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Blacklist blacklist; // The loaded blacklist
+
+    /**
+     * @param directory        The directory to store the blacklist in.
+     * @param compactInterval  How often to check if the logs need to be compacted.
+     * @param timeUnit         The unit of {@code compactInterval}.
+     * @param compactThreshold The amount of logged changes of a scope, until the log gets compacted.
+     */
+    public BlacklistStore(Path directory, long compactInterval, TimeUnit timeUnit, int compactThreshold) {
+        for (Blacklist.Scope scope : Blacklist.Scope.values()) {
+            this.files.put(scope, new LongSetFile(directory, scope.name().toLowerCase(Locale.ROOT) + "-blacklist"));
+        }
+        this.compactThreshold = compactThreshold;
+        this.compactor.scheduleWithFixedDelay(() -> {
+            try {
+                compact(this.compactThreshold);
+            } catch (IOException e) {
+                LOGGER.error("Couldn't compact the blacklist", e);
+            }
+        }, compactInterval, compactInterval, timeUnit);
+    }
+
+    /**
+     * Compacts the logs every 10 minutes, if a scope has at least 1024 logged changes.
+     *
+     * @param directory The directory to store the blacklist in.
+     */
+    public BlacklistStore(Path directory) {
+        this(directory, 10, TimeUnit.MINUTES, 1024);
+    }
+
+    /**
+     * Replaces the content of the blacklist with the persisted ids.
+     * Afterwards every change of the blacklist gets persisted.
+     *
+     * @param blacklist The blacklist to load the ids into.
+     * @throws IOException Is thrown when the files can't be read.
+     */
+    public void load(Blacklist blacklist) throws IOException {
+        // Always lock the blacklist before the store, like it's done when the blacklist notifies the store
+        synchronized (blacklist) {
+            synchronized (this) {
+                if (this.blacklist != null) throw new IllegalStateException("The store is already loaded");
+
+                for (Map.Entry<Blacklist.Scope, LongSetFile> file : this.files.entrySet()) {
+                    file.getValue().load(blacklist.getSet(file.getKey()));
+                }
+                this.blacklist = blacklist;
+            }
+            blacklist.setListener(this);
+        }
+    }
+
+    /**
+     * Writes a new snapshot of every scope, which has at least {@code threshold} logged changes.
+     *
+     * @param threshold The minimum amount of logged changes.
+     * @throws IOException Is thrown when the files can't be written.
+     */
+    public synchronized void compact(int threshold) throws IOException {
+        if (this.blacklist == null) return; // Nothing loaded yet
+
+        for (Map.Entry<Blacklist.Scope, LongSetFile> file : this.files.entrySet()) {
+            if (file.getValue().getLogSize() < Math.max(threshold, 1)) continue;
+            file.getValue().compact(this.blacklist.getSet(file.getKey()));
+        }
+    }
+
+    @Override
+    public synchronized void onAdd(Blacklist.Scope scope, long id) {
+        try {
+            this.files.get(scope).appendAdd(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void onRemove(Blacklist.Scope scope, long id) {
+        try {
+            this.files.get(scope).appendRemove(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void onBulkChange(Blacklist.Scope scope) {
+        // A bulk change would flood the log, so write a new snapshot right away
+        try {
+            this.files.get(scope).compact(this.blacklist.getSet(scope));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compacts all logs and closes the files.
+     * Changes of the blacklist won't get persisted afterwards.
+     *
+     * @throws IOException Is thrown when the files can't be written.
+     */
+    @Override
+    public void close() throws IOException {
+        this.compactor.shutdownNow();
+
+        final Blacklist blacklist = this.blacklist;
+        if (blacklist == null) return;
+        // Always lock the blacklist before the store, like it's done when the blacklist notifies the store
+        synchronized (blacklist) {
+            blacklist.setListener(null);
+            synchronized (this) {
+                for (Map.Entry<Blacklist.Scope, LongSetFile> file : this.files.entrySet()) {
+                    file.getValue().compact(blacklist.getSet(file.getKey()));
+                    file.getValue().close();
+                }
+                this.blacklist = null;
+            }
+        }
+    }
+}
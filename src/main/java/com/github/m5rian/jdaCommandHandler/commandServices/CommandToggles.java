@@ -0,0 +1,198 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.command.CommandData;
+import com.github.m5rian.jdaCommandHandler.command.CommandRegistry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores which commands are disabled in which guild.
+ * <p>
+ * The disabled commands of a guild are an immutable bitset of the dense command indices of the {@link CommandRegistry}.
+ * A changed guild gets a new bitset, so reads never lock.
+ * Guilds in which all commands are enabled aren't stored at all.
+ * <p>
+ * Command names are case-insensitive. Names of commands, which were never registered, can't be disabled,
+ * so user input can't make the registry assign indices.
+ */
+public class CommandToggles {
+    private static final long[] NONE = new long[0];
+
+    private final CommandRegistry registry; // The registry which assigns the command indices
+    private final Map<Long, long[]> disabled = new ConcurrentHashMap<>(); // Guild id to bitset of disabled commands
+    private Listener listener;
+
+    /**
+     * @param registry The registry of the commands.
+     */
+    public CommandToggles(CommandRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param guildId The id of the guild.
+     * @param command The command.
+     * @return Returns if the command is disabled in the guild.
+     */
+    public boolean isDisabled(long guildId, CommandData command) {
+        final long[] bits = this.disabled.getOrDefault(guildId, NONE);
+        final int index = command.getIndex();
+        return index >= 0 && (index >> 6) < bits.length && (bits[index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * @param guildId The id of the guild.
+     * @param command The name of the command.
+     * @return Returns if the command is disabled in the guild. Unknown commands are never disabled.
+     */
+    public boolean isDisabled(long guildId, String command) {
+        final long[] bits = this.disabled.getOrDefault(guildId, NONE);
+        final int index = this.registry.findIndex(command);
+        return index >= 0 && (index >> 6) < bits.length && (bits[index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Disables a command in a guild.
+     *
+     * @param guildId The id of the guild.
+     * @param command The name of the command.
+     * @throws IllegalArgumentException If no command with the name is registered.
+     */
+    public void disable(long guildId, String command) {
+        final int index = this.registry.findIndex(command);
+        if (index == -1) throw new IllegalArgumentException("Unknown command: " + command);
+        if (set(guildId, index, true)) notify(guildId, this.registry.getName(index), false);
+    }
+
+    /**
+     * Enables a command in a guild.
+     *
+     * @param guildId The id of the guild.
+     * @param command The name of the command.
+     */
+    public void enable(long guildId, String command) {
+        final int index = this.registry.findIndex(command);
+        if (index == -1) return; // Unknown commands are never disabled
+        if (set(guildId, index, false)) notify(guildId, this.registry.getName(index), true);
+    }
+
+    /**
+     * Enables all commands in a guild.
+     *
+     * @param guildId The id of the guild.
+     */
+    public void enableAll(long guildId) {
+        final long[] bits = this.disabled.remove(guildId);
+        if (bits != null) notifyBulk();
+    }
+
+    /**
+     * Replaces all disabled commands of all guilds at once.
+     * Unlike {@link #disable(long, String)} this accepts commands which aren't registered yet, for example commands of modules which are loaded later.
+     *
+     * @param disabledCommands A map of guild ids to the names of the disabled commands.
+     */
+    public void load(Map<Long, ? extends Collection<String>> disabledCommands) {
+        final Map<Long, long[]> loaded = new HashMap<>();
+        disabledCommands.forEach((guildId, commands) -> {
+            long[] bits = NONE;
+            for (String command : commands) {
+                final int index = this.registry.getIndex(command);
+                if ((index >> 6) >= bits.length) bits = Arrays.copyOf(bits, (index >> 6) + 1);
+                bits[index >> 6] |= 1L << index;
+            }
+            if (bits.length != 0) loaded.put(guildId, bits);
+        });
+
+        this.disabled.keySet().retainAll(loaded.keySet());
+        this.disabled.putAll(loaded);
+        notifyBulk();
+    }
+
+    /**
+     * @param guildId The id of the guild.
+     * @return Returns the names of all disabled commands of the guild.
+     */
+    public List<String> getDisabledCommands(long guildId) {
+        final long[] bits = this.disabled.getOrDefault(guildId, NONE);
+        final List<String> commands = new ArrayList<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                final int index = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                commands.add(this.registry.getName(index));
+                remaining &= remaining - 1; // Clear lowest bit
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * @return Returns the amount of guilds with at least one disabled command.
+     */
+    public int size() {
+        return this.disabled.size();
+    }
+
+    /**
+     * @param listener A {@link Listener} which gets notified about every change.
+     */
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Changes a bit of a guild.
+     *
+     * @param guildId  The id of the guild.
+     * @param index    The index of the command.
+     * @param disabled Should the command be disabled?
+     * @return Returns if the bit changed.
+     */
+    private boolean set(long guildId, int index, boolean disabled) {
+        final boolean[] changed = new boolean[1];
+        this.disabled.compute(guildId, (id, bits) -> {
+            if (bits == null) bits = NONE;
+            final int word = index >> 6;
+            final boolean current = word < bits.length && (bits[word] & 1L << index) != 0;
+            if (current == disabled) return bits.length == 0 ? null : bits; // Nothing changes
+
+            changed[0] = true;
+            final long[] updated = Arrays.copyOf(bits, Math.max(bits.length, word + 1));
+            updated[word] ^= 1L << index;
+            // Trim trailing empty words
+            int length = updated.length;
+            while (length > 0 && updated[length - 1] == 0) length--;
+            return length == 0 ? null : Arrays.copyOf(updated, length);
+        });
+        return changed[0];
+    }
+
+    private synchronized void notify(long guildId, String command, boolean enabled) {
+        if (this.listener != null) this.listener.onToggle(guildId, command, enabled);
+    }
+
+    private synchronized void notifyBulk() {
+        if (this.listener != null) this.listener.onBulkChange();
+    }
+
+    /**
+     * Gets notified about changes of the disabled commands.
+     */
+    public interface Listener {
+        /**
+         * @param guildId The id of the guild.
+         * @param command The name of the command.
+         * @param enabled Is the command enabled now?
+         */
+        void onToggle(long guildId, String command, boolean enabled);
+
+        /**
+         * Runs once the disabled commands of one or more guilds changed at once.
+         */
+        void onBulkChange();
+    }
+}
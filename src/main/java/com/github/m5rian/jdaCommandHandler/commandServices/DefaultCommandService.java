@@ -2,148 +2,726 @@ package com.github.m5rian.jdaCommandHandler.commandServices;
 
 import com.github.m5rian.jdaCommandHandler.Channel;
 import com.github.m5rian.jdaCommandHandler.CommandHandler;
-import com.github.m5rian.jdaCommandHandler.CommandUtils;
+import com.github.m5rian.jdaCommandHandler.CommandModule;
+import com.github.m5rian.jdaCommandHandler.EventWaiter;
 import com.github.m5rian.jdaCommandHandler.Everyone;
 import com.github.m5rian.jdaCommandHandler.command.CommandContext;
 import com.github.m5rian.jdaCommandHandler.command.CommandData;
+import com.github.m5rian.jdaCommandHandler.command.CommandInterceptor;
+import com.github.m5rian.jdaCommandHandler.command.CommandRegistry;
+import com.github.m5rian.jdaCommandHandler.command.CommandResponses;
+import com.github.m5rian.jdaCommandHandler.component.ComponentContext;
+import com.github.m5rian.jdaCommandHandler.component.ComponentData;
+import com.github.m5rian.jdaCommandHandler.component.ComponentRegistry;
+import com.github.m5rian.jdaCommandHandler.commandMessages.CommandMessageFactories;
+import com.github.m5rian.jdaCommandHandler.conversation.Conversations;
+import com.github.m5rian.jdaCommandHandler.conversation.MemorySessionStore;
 import com.github.m5rian.jdaCommandHandler.commandMessages.CommandMessageFactory;
-import com.github.m5rian.jdaCommandHandler.commandMessages.CommandUsageFactory;
+import com.github.m5rian.jdaCommandHandler.dispatch.CircuitBreaker;
+import com.github.m5rian.jdaCommandHandler.dispatch.ConcurrencyLimiter;
+import com.github.m5rian.jdaCommandHandler.dispatch.DispatchClass;
+import com.github.m5rian.jdaCommandHandler.dispatch.PriorityDispatcher;
+import com.github.m5rian.jdaCommandHandler.dispatch.Watchdog;
+import com.github.m5rian.jdaCommandHandler.exceptions.CommandTimeoutException;
 import com.github.m5rian.jdaCommandHandler.exceptions.NotRegisteredException;
 import com.github.m5rian.jdaCommandHandler.slashCommand.SlashCommandContext;
 import com.github.m5rian.jdaCommandHandler.slashCommand.SlashCommandData;
-import net.dv8tion.jda.api.Permission;
+import com.github.m5rian.jdaCommandHandler.slashCommand.SlashCommandRegistry;
+import com.github.m5rian.jdaCommandHandler.trigger.TriggerContext;
+import com.github.m5rian.jdaCommandHandler.trigger.TriggerData;
+import com.github.m5rian.jdaCommandHandler.trigger.TriggerRegistry;
+import com.github.m5rian.jdaCommandHandler.utils.PrefixTrie;
+import com.github.m5rian.jdaCommandHandler.utils.RecentIds;
+import com.github.m5rian.jdaCommandHandler.utils.Throttle;
 import net.dv8tion.jda.api.entities.ChannelType;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.GuildChannel;
+import net.dv8tion.jda.api.entities.MessageType;
+import net.dv8tion.jda.api.events.interaction.GenericComponentInteractionCreateEvent;
 import net.dv8tion.jda.api.events.interaction.SlashCommandEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
+import net.dv8tion.jda.api.interactions.Interaction;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * A command service for default needs.
  */
-public class DefaultCommandService implements ICommandService, ISlashCommandService, IPermissionService, IBlacklistService {
+public class DefaultCommandService implements ICommandService, ISlashCommandService, ITriggerService, IComponentService, IPermissionService, IBlacklistService {
+    private static final int MAX_PREFIX_TRIES = 4096; // Maximum amount of cached prefix tries
+    private static final int MAX_SUGGESTIONS = 3; // Maximum amount of suggested commands for an unknown command
+    private static final long DISCORD_EPOCH = 1420070400000L; // Start of snowflake timestamps in milliseconds since the epoch
+    private static final long INTERACTION_START_WINDOW = 2500; // Milliseconds after its creation, until which an interaction must start to be acknowledged in time
     private final String defaultPrefix;
-    private final Function<Guild, String> customPrefix;
+    private final Function<Guild, ? extends Collection<String>> customPrefix;
     private final boolean allowMention;
     private final BiConsumer<MessageReceivedEvent, Throwable> errorHandler;
+    private final BiConsumer<SlashCommandEvent, Throwable> slashErrorHandler; // Handles exceptions of slash commands, null to print them
+    private final PermissionCache permissionCache;
+    private final BlacklistStore blacklistStore;
+    private final Conversations conversations; // Runs multi-step conversations
+    private final PriorityDispatcher dispatcher; // Runs commands by their priority, null to run them on the event thread
+    private final Map<String, ConcurrencyLimiter> concurrencyLimiters = new ConcurrentHashMap<>(); // Full name of a command to its limiter, set in the builder
+    private final Map<String, ConcurrencyLimiter> slashConcurrencyLimiters = new ConcurrentHashMap<>(); // Name of a slash command to its limiter, set in the builder
+    private final CircuitBreaker.Settings circuitBreakerSettings; // Settings of all circuit breakers, null if disabled
+    private final String slashCommandFallback; // Ephemeral reply to short-circuited slash commands, null to not reply
+    private final String slashCommandBusyMessage; // Ephemeral reply to slash commands over their concurrency limit, null to not reply
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>(); // Full name of a command to its breaker
+    private final Map<String, CircuitBreaker> slashCircuitBreakers = new ConcurrentHashMap<>(); // Name of a slash command to its breaker
+    private final long slashCommandDeferBudget; // Time in nanoseconds after which unacknowledged slash commands get deferred, 0 if disabled
+    private final ScheduledExecutorService deferScheduler; // Defers slow slash commands, null if disabled
+    private final long commandTimeout; // Default timeout of commands and slash commands in nanoseconds, 0 if disabled
+    private final Watchdog watchdog = new Watchdog("Command-Watchdog"); // Interrupts commands, which exceed their timeout
+    private final Throttle overloadThrottle = new Throttle(4096, 10, TimeUnit.SECONDS); // Limits busy and fallback replies per channel
+    private final Throttle unknownCommandThrottle; // Limits replies to unknown commands per user and channel
+    private final RecentIds recentIds; // Ids of recently processed messages and interactions, null if duplicates aren't detected
+    private final CommandResponses commandResponses; // Responses to recent commands, null if edits don't run commands again
+    private final BitSet prefixStartCharacters; // All characters a prefix or mention can start with, null if any character is possible
+    private volatile Mentions mentions; // Mentions of the bot, created on the first mention
+    private final Map<Collection<String>, PrefixTrie> prefixTries = new ConcurrentHashMap<>(); // Tries of all distinct sets of variable prefixes
+    // Statistics
+    private final LongAdder receivedMessages = new LongAdder();
+    private final Map<RejectionStage, LongAdder> rejections = new EnumMap<>(RejectionStage.class);
+    // Registries and state of this service
+    private final CommandRegistry commandRegistry = new CommandRegistry();
+    private final SlashCommandRegistry slashCommandRegistry = new SlashCommandRegistry();
+    private final PermissionRegistry permissionRegistry = new PermissionRegistry();
+    private final TriggerRegistry triggerRegistry = new TriggerRegistry();
+    private final ComponentRegistry componentRegistry = new ComponentRegistry();
+    private final CommandMessageFactories commandMessageFactories = new CommandMessageFactories();
+    private final EventWaiter eventWaiter = new EventWaiter();
+    private final Blacklist blacklist = new Blacklist();
+    private final SelfPermissionCache selfPermissionCache = new SelfPermissionCache();
+    private final CommandToggles commandToggles = new CommandToggles(this.commandRegistry);
+    private final GuildAliases guildAliases = new GuildAliases();
 
     /**
      * Constructor
-     * This constructor builds the actual DefaultCommandService
+     * This constructor builds the actual DefaultCommandService out of the settings of a {@link DefaultCommandServiceBuilder}.
      *
-     * @param defaultPrefix The default prefix, which is used when a no variable prefix is set.
-     *                      The default prefix is also used when you fire commands in the direct messages.
-     * @param customPrefix  A variable prefix, which can depend on each guild.
-     * @param allowMention  Should the bot respond on mentions too?
+     * @param builder The builder with all settings of the service.
      */
-    public DefaultCommandService(String defaultPrefix, Function<Guild, String> customPrefix, boolean allowMention,
-                                 List<CommandHandler> commands, List<CommandHandler> slashCommands, List<String> userBlacklist,
-                                 CommandMessageFactory infoFactory, CommandMessageFactory warningFactory, CommandMessageFactory errorFactory, CommandUsageFactory usageFactory,
-                                 BiConsumer<MessageReceivedEvent, Throwable> errorHandler) {
+    DefaultCommandService(DefaultCommandServiceBuilder builder) {
         // No default prefix set
-        if (defaultPrefix == null) throw new IllegalArgumentException("You need to specify a default prefix");
+        if (builder.defaultPrefix == null) throw new IllegalArgumentException("You need to specify a default prefix");
 
-        this.defaultPrefix = defaultPrefix;
-        this.customPrefix = customPrefix;
-        this.allowMention = allowMention;
+        this.defaultPrefix = builder.defaultPrefix;
+        this.customPrefix = builder.customPrefix;
+        this.allowMention = builder.allowMention;
+        this.prefixStartCharacters = createPrefixStartCharacters(builder.defaultPrefix, builder.customPrefix, builder.allowMention, builder.prefixStartCharacters);
+        for (RejectionStage stage : RejectionStage.values()) {
+            this.rejections.put(stage, new LongAdder());
+        }
         // Blacklist
-        if (!userBlacklist.isEmpty()) this.userBlacklist.addAll(userBlacklist); // Add already blacklisted users
+        this.blacklistStore = builder.blacklistStore;
+        if (builder.blacklistStore != null) {
+            try {
+                builder.blacklistStore.load(this.getBlacklist()); // Load persisted blacklist
+            } catch (IOException e) {
+                throw new UncheckedIOException("Couldn't load the persisted blacklist", e);
+            }
+        }
+        for (Blacklist.Scope scope : Blacklist.Scope.values()) {
+            final long[] ids = builder.blacklist.getIds(scope);
+            if (ids.length != 0) this.getBlacklist().addAll(scope, ids); // Add already blacklisted ids
+        }
+        // Register interceptors
+        builder.interceptors.forEach(this::registerInterceptor);
+        builder.categoryInterceptors.forEach((category, categorized) -> categorized.forEach(interceptor -> this.registerInterceptor(category, interceptor)));
         // Register all commands
-        commands.forEach(this::registerCommandClass);
+        builder.commands.forEach(this::registerCommandClass);
         // Register slashCommands
-        slashCommands.forEach(this::registerSlashCommandClass);
+        builder.slashCommands.forEach(this::registerSlashCommandClass);
+        // Register triggers
+        builder.triggers.forEach(this::registerTriggerClass);
+        // Register component handlers
+        builder.components.forEach(this::registerComponentClass);
         // Set command factories
-        this.commandMessageFactories.setInfoFactory(infoFactory);
-        this.commandMessageFactories.setWarningFactory(warningFactory);
-        this.commandMessageFactories.setErrorFactory(errorFactory);
-        this.commandMessageFactories.setCommandUsageFactory(usageFactory);
+        this.commandMessageFactories.setInfoFactory(builder.infoFactory);
+        this.commandMessageFactories.setWarningFactory(builder.warningFactory);
+        this.commandMessageFactories.setErrorFactory(builder.errorFactory);
+        this.commandMessageFactories.setCommandUsageFactory(builder.usageFactory);
+        this.commandMessageFactories.setUnknownCommandFactory(builder.unknownCommandFactory);
+        this.commandMessageFactories.setBusyFactory(builder.busyFactory);
+        this.unknownCommandThrottle = new Throttle(4096, builder.unknownCommandCooldown.toNanos(), TimeUnit.NANOSECONDS);
+        // Set up detection of duplicated events
+        this.recentIds = builder.deduplicationSlots > 0 ? new RecentIds(builder.deduplicationSlots, builder.deduplicationWindow.toMillis()) : null;
+        // Set up running commands again on edits
+        this.commandResponses = builder.editCapacity > 0 ? new CommandResponses(builder.editCapacity, builder.editWindow.toMillis()) : null;
         // Set error handler
-        this.errorHandler = errorHandler;
+        this.errorHandler = builder.errorHandler;
+        this.slashErrorHandler = builder.slashErrorHandler;
+        // Set permission cache
+        this.permissionCache = builder.permissionCache;
+        // Load disabled commands
+        if (builder.disabledCommands != null) this.commandToggles.load(builder.disabledCommands.get());
+        // Load custom aliases
+        if (builder.guildAliases != null) this.guildAliases.load(builder.guildAliases.get());
+
+        // Set up dispatching
+        this.dispatcher = builder.dispatcher;
+        // Waiter callbacks run on the shedding thread instead of getting lost, they can be answers of users in a conversation
+        if (builder.dispatcher != null) this.eventWaiter.setExecutor(task -> {
+            if (!builder.dispatcher.submit(DispatchClass.BACKGROUND, 0, task, task)) task.run();
+        });
+        // Set up concurrency limits
+        builder.concurrencyLimits.forEach((command, limit) -> this.concurrencyLimiters.put(command, new ConcurrencyLimiter(limit)));
+        builder.slashConcurrencyLimits.forEach((command, limit) -> this.slashConcurrencyLimiters.put(command, new ConcurrencyLimiter(limit)));
+        // Set up circuit breakers
+        this.circuitBreakerSettings = builder.circuitBreakerSettings;
+        this.commandMessageFactories.setCircuitOpenFactory(builder.circuitOpenFactory);
+        this.slashCommandFallback = builder.slashCommandFallback;
+        this.slashCommandBusyMessage = builder.slashCommandBusyMessage;
+        // Set up timeouts
+        this.commandTimeout = builder.commandTimeout == null ? 0 : builder.commandTimeout.toNanos();
+        // Set up automatic deferral of slash commands
+        this.slashCommandDeferBudget = builder.slashCommandDeferBudget == null ? 0 : builder.slashCommandDeferBudget.toNanos();
+        this.deferScheduler = builder.slashCommandDeferBudget == null ? null : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "SlashCommand-Deferral");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Set up conversations
+        this.conversations = new Conversations(this.eventWaiter, builder.sessionStore != null ? builder.sessionStore : new MemorySessionStore());
 
         this.registerPermission(new Everyone()); // Register default role
     }
 
+    /**
+     * Creates the set of characters, which a message can start with to be a command.
+     *
+     * @param defaultPrefix         The default prefix.
+     * @param customPrefix          The variable prefixes.
+     * @param allowMention          Should the bot respond on mentions too?
+     * @param prefixStartCharacters All characters the variable prefixes can start with. Can be null if they're unknown.
+     * @return Returns the set of characters or null if a message can start with any character.
+     */
+    @Nullable
+    private static BitSet createPrefixStartCharacters(String defaultPrefix, Function<Guild, ? extends Collection<String>> customPrefix, boolean allowMention, char[] prefixStartCharacters) {
+        if (defaultPrefix.isEmpty()) return null; // Every message starts with the prefix
+        if (customPrefix != null && prefixStartCharacters == null) return null; // Variable prefixes can start with anything
+
+        final BitSet characters = new BitSet();
+        characters.set(defaultPrefix.charAt(0));
+        if (prefixStartCharacters != null) {
+            for (char character : prefixStartCharacters) characters.set(character);
+        }
+        if (allowMention) characters.set('<'); // Mentions start with '<'
+        return characters;
+    }
+
+    /**
+     * @return Returns the {@link PriorityDispatcher}, which runs the commands, or null if commands run on the event thread.
+     */
+    @Nullable
+    public PriorityDispatcher getDispatcher() {
+        return this.dispatcher;
+    }
+
+    /**
+     * @param command A command.
+     * @return Returns the {@link ConcurrencyLimiter} of the command or null if the command isn't limited.
+     * A limit of the builder takes precedence over a limit of the annotation.
+     */
+    @Nullable
+    public ConcurrencyLimiter getConcurrencyLimiter(CommandData command) {
+        if (this.concurrencyLimiters.isEmpty()) return command.getConcurrencyLimiter();
+        final ConcurrencyLimiter limiter = this.concurrencyLimiters.get(command.getFullName());
+        return limiter != null ? limiter : command.getConcurrencyLimiter();
+    }
+
+    /**
+     * @param slashCommand A slash command.
+     * @return Returns the {@link ConcurrencyLimiter} of the slash command or null if the slash command isn't limited.
+     * A limit of the builder takes precedence over a limit of the annotation.
+     */
+    @Nullable
+    public ConcurrencyLimiter getConcurrencyLimiter(SlashCommandData slashCommand) {
+        if (this.slashConcurrencyLimiters.isEmpty()) return slashCommand.getConcurrencyLimiter();
+        final ConcurrencyLimiter limiter = this.slashConcurrencyLimiters.get(slashCommand.getSlashCommand().name());
+        return limiter != null ? limiter : slashCommand.getConcurrencyLimiter();
+    }
+
+    /**
+     * @param command A command.
+     * @return Returns the {@link CircuitBreaker} of the command or null if circuit breakers are disabled.
+     */
+    @Nullable
+    public CircuitBreaker getCircuitBreaker(CommandData command) {
+        if (this.circuitBreakerSettings == null) return null;
+        return this.circuitBreakers.computeIfAbsent(command.getFullName(), name -> new CircuitBreaker(this.circuitBreakerSettings));
+    }
+
+    /**
+     * @param slashCommand A slash command.
+     * @return Returns the {@link CircuitBreaker} of the slash command or null if circuit breakers are disabled.
+     */
+    @Nullable
+    public CircuitBreaker getCircuitBreaker(SlashCommandData slashCommand) {
+        if (this.circuitBreakerSettings == null) return null;
+        return this.slashCircuitBreakers.computeIfAbsent(slashCommand.getSlashCommand().name(), name -> new CircuitBreaker(this.circuitBreakerSettings));
+    }
+
+    /**
+     * @return Returns the {@link RecentIds} of processed messages and interactions or null if duplicates aren't detected.
+     */
+    @Nullable
+    public RecentIds getRecentIds() {
+        return this.recentIds;
+    }
+
+    @Override
+    public CommandResponses getCommandResponses() {
+        return this.commandResponses;
+    }
+
+    /**
+     * @return Returns the {@link Conversations}, which run multi-step conversations with users.
+     */
+    public Conversations getConversations() {
+        return this.conversations;
+    }
+
+    @Override
+    public CommandRegistry getCommandRegistry() {
+        return this.commandRegistry;
+    }
+
+    @Override
+    public SlashCommandRegistry getSlashCommandRegistry() {
+        return this.slashCommandRegistry;
+    }
+
+    @Override
+    public TriggerRegistry getTriggerRegistry() {
+        return this.triggerRegistry;
+    }
+
+    @Override
+    public ComponentRegistry getComponentRegistry() {
+        return this.componentRegistry;
+    }
+
+    @Override
+    public PermissionRegistry getPermissionRegistry() {
+        return this.permissionRegistry;
+    }
+
+    @Override
+    public CommandMessageFactories getCommandMessageFactories() {
+        return this.commandMessageFactories;
+    }
+
+    @Override
+    public EventWaiter getEventWaiter() {
+        return this.eventWaiter;
+    }
+
+    @Override
+    public Blacklist getBlacklist() {
+        return this.blacklist;
+    }
+
+    @Override
+    public PermissionCache getPermissionCache() {
+        return this.permissionCache;
+    }
+
+    @Override
+    public SelfPermissionCache getSelfPermissionCache() {
+        return this.selfPermissionCache;
+    }
+
+    /**
+     * @return Returns the {@link CommandToggles}, which store the disabled commands of each guild.
+     */
+    public CommandToggles getCommandToggles() {
+        return this.commandToggles;
+    }
+
+    /**
+     * @return Returns the {@link GuildAliases}, which store the custom aliases of each guild.
+     */
+    public GuildAliases getGuildAliases() {
+        return this.guildAliases;
+    }
+
+    /**
+     * @return Returns the {@link BlacklistStore} which persists the blacklist or null if the blacklist isn't persisted.
+     */
+    @Nullable
+    public BlacklistStore getBlacklistStore() {
+        return this.blacklistStore;
+    }
+
+    /**
+     * Loads a {@link CommandModule} and registers all of its command handlers as commands, slash commands, component handlers and triggers.
+     *
+     * @param path A JAR file or a directory. A directory can contain class files and JAR files.
+     * @return Returns the loaded module. Use it to reload or unload the module later.
+     * @throws IOException If the module couldn't be read.
+     */
+    public CommandModule loadModule(Path path) throws IOException {
+        final CommandModule module = CommandModule.load(path); // Load module
+        this.replaceCommandClasses(List.of(), module.getHandlers()); // Register commands
+        this.replaceSlashCommandClasses(List.of(), module.getHandlers()); // Register slash commands
+        this.replaceComponentClasses(List.of(), module.getHandlers()); // Register component handlers
+        this.replaceTriggerClasses(List.of(), module.getHandlers()); // Register triggers
+        return module;
+    }
+
+    /**
+     * Loads a new version of a {@link CommandModule} and swaps its command handlers with the ones of the old version.
+     * New messages are routed to the new version, while invocations which already started finish on the old version.
+     * The old version gets closed once none of its commands are running anymore.
+     *
+     * @param module The currently loaded version of the module.
+     * @return Returns the new version of the module.
+     * @throws IOException If the module couldn't be read. The old version stays loaded in this case.
+     */
+    public CommandModule reloadModule(CommandModule module) throws IOException {
+        final CommandModule reloaded = CommandModule.load(module.getPath(), module.getClassLoader().getParent()); // Load new version
+        swapModule(module, reloaded.getHandlers());
+        return reloaded;
+    }
+
+    /**
+     * Unregisters all command handlers of a {@link CommandModule}.
+     * The module gets closed once none of its commands are running anymore.
+     *
+     * @param module The module to unload.
+     */
+    public void unloadModule(CommandModule module) {
+        swapModule(module, List.of());
+    }
+
+    /**
+     * Replaces the command handlers of a module and retires the module.
+     *
+     * @param module   The module to replace.
+     * @param handlers The command handlers which replace the ones of the module.
+     */
+    private void swapModule(CommandModule module, List<CommandHandler> handlers) {
+        // Remember commands of the module before they get unregistered
+        final List<CommandData> commands = this.getCommands().stream().filter(command -> module.getHandlers().contains(command.getInstance())).collect(Collectors.toList());
+        final List<SlashCommandData> slashCommands = this.getSlashCommands().stream().filter(slashCommand -> module.getHandlers().contains(slashCommand.getInstance())).collect(Collectors.toList());
+        final List<ComponentData> components = this.getComponents().stream().filter(component -> module.getHandlers().contains(component.getInstance())).collect(Collectors.toList());
+        final List<TriggerData> triggers = this.getTriggers().stream().filter(trigger -> module.getHandlers().contains(trigger.getInstance())).collect(Collectors.toList());
+
+        this.replaceCommandClasses(module.getHandlers(), handlers); // Swap commands
+        this.replaceSlashCommandClasses(module.getHandlers(), handlers); // Swap slash commands
+        this.replaceComponentClasses(module.getHandlers(), handlers); // Swap component handlers
+        this.replaceTriggerClasses(module.getHandlers(), handlers); // Swap triggers
+        if (this.permissionCache != null) this.permissionCache.invalidateAll(); // Drop cached permission classes of the old module
+
+        module.retire(commands, slashCommands, components, triggers); // Close old module once it's not used anymore
+    }
+
     @Override
     public void processSlashCommandExecution(SlashCommandEvent event) {
-        if (this.userBlacklist.contains(event.getUser().getId())) return; // User is on blacklist
+        if (this.isBlacklisted(event.getUser(), event.getGuild(), event.getChannel())) return; // User, guild or channel is on blacklist
 
-        int i = 0;
-        while (i < this.slashCommands.size())
+        final SlashCommandData slashCommand = this.slashCommandRegistry.find(event.getName()); // Get matching slash command
+        if (slashCommand == null) return; // No slash command was fired
+        if (this.recentIds != null && !this.recentIds.add(event.getIdLong())) return; // Interaction was already processed
+
+        slashCommand.invocationStarted(); // Keep the module of the slash command loaded while it's queued
+        dispatchInteraction(event, () -> {
             try {
-                final SlashCommandData slashCommand = this.slashCommands.get(i);
+                runSlashCommand(event, slashCommand);
+            } finally {
+                slashCommand.invocationFinished();
+            }
+        }, slashCommand::invocationFinished);
+    }
 
-                if (slashCommand.getSlashCommand().name().equals(event.getName())) {
-                    slashCommand.getMethod().invoke(slashCommand.getInstance(), new SlashCommandContext(event, slashCommand, this)); // Run slash command
-                    break; // Only run slash command once
-                }
-                i++;
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
+    private void runSlashCommand(SlashCommandEvent event, SlashCommandData slashCommand) {
+        final long timeout = getTimeout(slashCommand.getSlashCommand().timeout());
+        final SlashCommandContext ctx = new SlashCommandContext(event, slashCommand, this, timeout > 0 ? Instant.now().plusNanos(timeout) : null);
+        final CircuitBreaker breaker = getCircuitBreaker(slashCommand);
+        // Slash command fails too often at the moment
+        final long ticket = breaker != null ? breaker.tryAcquire() : 0;
+        if (ticket == CircuitBreaker.REJECTED) {
+            if (this.slashCommandFallback != null) ctx.replyEphemeral(this.slashCommandFallback).queue();
+            return;
+        }
+        final ConcurrencyLimiter limiter = getConcurrencyLimiter(slashCommand);
+        // Too many invocations are running already
+        if (limiter != null && !limiter.tryAcquire()) {
+            if (breaker != null) breaker.cancel(ticket); // Slash command didn't run
+            if (this.slashCommandBusyMessage != null) ctx.replyEphemeral(this.slashCommandBusyMessage).queue();
+            return;
+        }
+
+        // Defer the reply if the slash command doesn't acknowledge the interaction in time, even if it replies asynchronously
+        if (this.deferScheduler != null) {
+            final long age = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - getCreationTime(event.getIdLong())); // Time the interaction already waited
+            this.deferScheduler.schedule(() -> {
+                if (ctx.deferIfUnacknowledged()) slashCommand.deferred();
+            }, Math.max(0, this.slashCommandDeferBudget - age), TimeUnit.NANOSECONDS);
+        }
+
+        final long start = System.nanoTime();
+        slashCommand.invocationStarted();
+        CompletableFuture<?> completion;
+        try {
+            completion = invoke(slashCommand.getMethod(), slashCommand.getInstance(), ctx, slashCommand.getSlashCommand().name(), timeout, slashCommand::timedOut); // Run slash command
+        } catch (IllegalAccessException | RuntimeException e) {
+            completion = CompletableFuture.failedFuture(e);
+        }
+        // Finish once the slash command completed, which is later for asynchronous slash commands
+        completion.whenComplete((result, failure) -> {
+            final Throwable error = unwrap(failure);
+            final long latency = System.nanoTime() - start;
+            slashCommand.invocationFinished();
+            slashCommand.invocationCompleted(latency);
+            if (limiter != null) limiter.release(latency, error == null);
+            if (breaker != null) {
+                if (error == null) breaker.onSuccess(ticket);
+                else breaker.onFailure(ticket);
             }
-            // Error is thrown in the original method
-            catch (InvocationTargetException e) {
+            if (error != null) handleSlashError(event, error);
+        });
+    }
+
+    @Override
+    public void processComponentExecution(GenericComponentInteractionCreateEvent event) {
+        final ComponentData component = this.componentRegistry.find(event.getComponentId()); // Get matching component handler
+        if (component == null) return; // Component isn't handled by this service
+        if (this.recentIds != null && !this.recentIds.add(event.getIdLong())) return; // Interaction was already processed
+        if (this.isBlacklisted(event.getUser(), event.getGuild(), event.getChannel())) return; // User, guild or channel is on blacklist
 
-                e.getCause().printStackTrace();
+        component.invocationStarted(); // Keep the module of the component loaded while it's queued
+        dispatchInteraction(event, () -> {
+            try {
+                runComponent(event, component);
+            } finally {
+                component.invocationFinished();
             }
+        }, component::invocationFinished);
+    }
+
+    private void runComponent(GenericComponentInteractionCreateEvent event, ComponentData component) {
+        component.invocationStarted();
+        try {
+            component.getMethod().invoke(component.getInstance(), new ComponentContext(event, component, this)); // Run component handler
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+        }
+        // Error is thrown in the original method
+        catch (InvocationTargetException e) {
+            e.getCause().printStackTrace();
+        } finally {
+            component.invocationFinished();
+        }
     }
 
     @Override
     public void processCommandExecution(MessageReceivedEvent event) {
-        if (this.userBlacklist.contains(event.getAuthor().getId())) return; // User is on blacklist
-        if (event.isFromGuild() && !event.getGuild().getSelfMember().hasPermission((GuildChannel) event.getChannel(), Permission.MESSAGE_WRITE))
+        processMessage(event, false);
+    }
+
+    @Override
+    public void processCommandUpdate(MessageUpdateEvent event) {
+        if (this.commandResponses == null) return; // Edits don't run commands again
+        // Message didn't invoke a command recently or its content didn't change
+        if (!this.commandResponses.update(event.getMessageIdLong(), event.getMessage().getContentRaw())) return;
+
+        processMessage(new MessageReceivedEvent(event.getJDA(), event.getResponseNumber(), event.getMessage()), true);
+    }
+
+    /**
+     * Runs the commands of a message.
+     *
+     * @param event The MessageReceivedEvent.
+     * @param edit  Is the message edited and ran a command before?
+     */
+    private void processMessage(MessageReceivedEvent event, boolean edit) {
+        this.receivedMessages.increment();
+        // Message isn't from a user
+        if (event.getAuthor().isBot() || event.getAuthor().isSystem() || event.isWebhookMessage()
+                || (event.getMessage().getType() != MessageType.DEFAULT && event.getMessage().getType() != MessageType.INLINE_REPLY)) {
+            reject(RejectionStage.AUTHOR);
             return;
+        }
 
-        final String rawMsg = event.getMessage().getContentRaw().replace("<@!", "<@"); // Get raw content
+        final String rawMsg = event.getMessage().getContentRaw(); // Get raw content
+        // Message can't start with a prefix or a mention
+        if (this.prefixStartCharacters != null && (rawMsg.isEmpty() || !this.prefixStartCharacters.get(rawMsg.charAt(0)))) {
+            reject(RejectionStage.FIRST_CHARACTER);
+            return;
+        }
 
-        String prefix = defaultPrefix; // Get default prefix
+        Collection<String> prefixes = List.of(defaultPrefix); // Get default prefix
         if (customPrefix != null && event.isFromGuild())
-            prefix = this.customPrefix.apply(event.getGuild()); // Get guild specific prefix
+            prefixes = this.customPrefix.apply(event.getGuild()); // Get guild specific prefixes
 
-        final String m = event.getJDA().getSelfUser().getAsMention(); // Get bot as mention
+        String prefix = prefixes.isEmpty() ? defaultPrefix : prefixes.iterator().next(); // Prefix to show in command messages
+        String msg = null;
+        final int prefixLength = matchPrefix(prefixes, rawMsg);
+        if (prefixLength != -1) {
+            prefix = rawMsg.substring(0, prefixLength); // Fired using prefix
+            msg = rawMsg.substring(prefixLength);
+        } else if (allowMention) msg = stripMention(event, rawMsg); // Fired using mention
+        if (msg == null) {
+            reject(RejectionStage.PREFIX); // No command was fired
+            return;
+        }
 
-        String msg;
-        if (rawMsg.startsWith(prefix)) msg = rawMsg.substring(prefix.length()); // Fired using prefix
-        else if (allowMention && rawMsg.startsWith(m)) msg = rawMsg.substring(m.length()); // Fired using mention
-        else return; // No command was fired
+        if (this.isBlacklisted(event.getAuthor(), event.isFromGuild() ? event.getGuild() : null, event.getChannel())) {
+            reject(RejectionStage.BLACKLIST); // User, guild or channel is on blacklist
+            return;
+        }
+        msg = msg.replace("<@!", "<@"); // Normalize member mentions in the arguments
+        if (event.isFromGuild()) msg = this.guildAliases.resolve(event.getGuild().getIdLong(), msg); // Replace custom alias with command name
 
         String finalPrefix = prefix;
 
-        int i = 0;
-        while (i < this.commands.size())
+        final CommandRegistry.Route route = this.commandRegistry.route(msg); // Get deepest matching commands
+        if (route == null) {
+            reject(RejectionStage.UNKNOWN_COMMAND);
+            if (this.commandResponses != null) this.commandResponses.track(event.getMessageIdLong(), rawMsg); // Fixing a typo runs the command
+            suggestCommands(event, finalPrefix, msg);
+            return;
+        }
+        // Bot can't write in the channel, checked only after a command was found
+        if (event.isFromGuild() && !this.selfPermissionCache.canWrite((GuildChannel) event.getChannel())) {
+            reject(RejectionStage.SELF_PERMISSION);
+            return;
+        }
+        // Message was already processed, checked last so only commands take up space
+        if (!edit && this.recentIds != null && !this.recentIds.add(event.getMessageIdLong())) {
+            reject(RejectionStage.DUPLICATE);
+            return;
+        }
+        if (this.commandResponses != null) this.commandResponses.track(event.getMessageIdLong(), rawMsg); // Edits of the message run the command again
+        String commandArguments = msg.substring(route.argumentsStart()); // Filter arguments
+        if (!commandArguments.equals("")) commandArguments = commandArguments.substring(1);
+
+        final String finalArguments = commandArguments;
+        final CommandData[] commands = route.commands();
+        for (CommandData command : commands) command.invocationStarted(); // Keep the module of the commands loaded while they're queued
+        dispatch(DispatchClass.COMMAND, event, () -> {
             try {
-                final CommandData command = this.commands.get(i);
+                runCommands(event, finalPrefix, finalArguments, commands, edit);
+            } finally {
+                for (CommandData command : commands) command.invocationFinished();
+            }
+        }, () -> {
+            for (CommandData command : commands) command.invocationFinished();
+            sendOverloadReply(this.commandMessageFactories.getBusyFactory(), event, finalPrefix, finalArguments, commands[0]);
+        });
+    }
 
+    private void runCommands(MessageReceivedEvent event, String prefix, String commandArguments, CommandData[] commands, boolean edit) {
+        for (CommandData command : commands) {
+            if (event.isFromGuild() && this.commandToggles.isDisabled(event.getGuild().getIdLong(), command)) continue; // Command is disabled in the guild
+            if (edit && !command.getCommand().reexecuteOnEdit()) continue; // Command only runs once
+            try {
                 boolean hasPermissions = hasPermissions(event.getMember(), command.getCommand().requires());// Does the member have the required permission?
                 boolean rightChannel = isType(command.getCommand().channel(), event); // Was the command executed in the right channel?
 
                 if (rightChannel && hasPermissions) {
-                    final List<String> executors = CommandUtils.getCommandExecutors(command.getMethod()); // Get all command executors
-                    // Check for every command executor
-                    for (String executor : executors) {
-                        final String regex = "(?i)" + executor + "($|\\s[\\S\\s]*)"; // Command regex
-                        // Message matches command regex
-                        if (msg.matches(regex)) {
-                            String commandArguments = msg.substring(executor.length()); // Filter arguments
-                            if (!commandArguments.equals("")) commandArguments = commandArguments.substring(1);
-
-                            command.getMethod().invoke(command.getInstance(), new CommandContext(finalPrefix, event, commandArguments, command, this, this)); // Run command
-                            break; // Only run command once
-                        }
+                    final long timeout = getTimeout(command.getCommand().timeout());
+                    final CommandContext ctx = new CommandContext(prefix, event, commandArguments, command, this, this, timeout > 0 ? Instant.now().plusNanos(timeout) : null, edit);
+                    final CommandInterceptor[] interceptors = command.getInterceptors();
+                    final int passed = runBeforeInterceptors(interceptors, ctx);
+                    if (passed < interceptors.length) continue; // An interceptor stopped the command
+
+                    final CircuitBreaker breaker = getCircuitBreaker(command);
+                    // Command fails too often at the moment
+                    final long ticket = breaker != null ? breaker.tryAcquire() : 0;
+                    if (ticket == CircuitBreaker.REJECTED) {
+                        runAfterInterceptors(interceptors, passed, ctx, null);
+                        sendOverloadReply(this.commandMessageFactories.getCircuitOpenFactory(), event, prefix, commandArguments, command);
+                        continue;
+                    }
+                    final ConcurrencyLimiter limiter = getConcurrencyLimiter(command);
+                    // Too many invocations are running already
+                    if (limiter != null && !limiter.tryAcquire()) {
+                        if (breaker != null) breaker.cancel(ticket); // Command didn't run
+                        runAfterInterceptors(interceptors, passed, ctx, null);
+                        sendOverloadReply(this.commandMessageFactories.getBusyFactory(), event, prefix, commandArguments, command);
+                        continue;
+                    }
+
+                    final long start = System.nanoTime();
+                    command.invocationStarted();
+                    CompletableFuture<?> completion;
+                    try {
+                        completion = invoke(command.getMethod(), command.getInstance(), ctx, command.getFullName(), timeout, command::timedOut); // Run command
+                    } catch (IllegalAccessException | RuntimeException e) {
+                        completion = CompletableFuture.failedFuture(e);
                     }
+                    // Finish once the command completed, which is later for asynchronous commands
+                    completion.whenComplete((result, failure) -> {
+                        final Throwable error = unwrap(failure);
+                        final long latency = System.nanoTime() - start;
+                        command.invocationFinished();
+                        command.invocationCompleted(latency);
+                        if (limiter != null) limiter.release(latency, error == null);
+                        if (breaker != null) {
+                            if (error == null) breaker.onSuccess(ticket);
+                            else breaker.onFailure(ticket);
+                        }
+                        runAfterInterceptors(interceptors, passed, ctx, error);
+                        if (error != null) handleError(event, error);
+                    });
                 }
-                i++;
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
             }
             // A required permissions isn't registered
             catch (NotRegisteredException notRegisteredException) {
                 notRegisteredException.printStackTrace();
             }
+        }
+    }
+
+    @Override
+    public void processTriggerExecution(MessageReceivedEvent event) {
+        if (this.triggerRegistry.isEmpty()) return; // No triggers registered
+        // Message isn't from a user
+        if (event.getAuthor().isBot() || event.getAuthor().isSystem() || event.isWebhookMessage()) return;
+        if (this.isBlacklisted(event.getAuthor(), event.isFromGuild() ? event.getGuild() : null, event.getChannel())) return; // User, guild or channel is on blacklist
+
+        dispatch(DispatchClass.COMMAND, event, () -> runTriggers(event), null);
+    }
+
+    private void runTriggers(MessageReceivedEvent event) {
+        for (TriggerRegistry.TriggerMatch match : this.triggerRegistry.match(event.getMessage().getContentRaw())) {
+            final TriggerData trigger = match.trigger();
+            if (!isType(trigger.getTrigger().channel(), event)) continue; // Trigger was fired in the wrong channel
+
+            trigger.invocationStarted();
+            try {
+                trigger.getMethod().invoke(trigger.getInstance(), new TriggerContext(event, match, this)); // Run trigger
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+            }
             // Error is thrown in the original method
             catch (InvocationTargetException e) {
                 if (this.errorHandler != null) {
@@ -151,7 +729,316 @@ public class DefaultCommandService implements ICommandService, ISlashCommandServ
                 } else {
                     e.getCause().printStackTrace();
                 }
+            } finally {
+                trigger.invocationFinished();
+            }
+        }
+    }
+
+    /**
+     * Runs {@link CommandInterceptor#beforeCommand(CommandContext)} of the interceptors until one of them stops the command.
+     * If the command got stopped, {@link CommandInterceptor#afterCommand(CommandContext, Throwable)} already ran for the passed interceptors.
+     *
+     * @param interceptors The interceptors of the command.
+     * @param ctx          The context of the command.
+     * @return Returns the amount of interceptors, which let the command pass.
+     */
+    private int runBeforeInterceptors(CommandInterceptor[] interceptors, CommandContext ctx) {
+        int passed = 0;
+        try {
+            while (passed < interceptors.length && interceptors[passed].beforeCommand(ctx)) passed++;
+        } catch (RuntimeException e) {
+            runAfterInterceptors(interceptors, passed, ctx, e);
+            handleError(ctx.getEvent(), e);
+            return passed;
+        }
+        if (passed < interceptors.length) runAfterInterceptors(interceptors, passed, ctx, null); // Command got stopped
+        return passed;
+    }
+
+    /**
+     * Runs {@link CommandInterceptor#afterCommand(CommandContext, Throwable)} of the passed interceptors in reverse order.
+     *
+     * @param interceptors The interceptors of the command.
+     * @param passed       The amount of interceptors, which let the command pass.
+     * @param ctx          The context of the command.
+     * @param error        The exception of the command. Can be null.
+     */
+    private void runAfterInterceptors(CommandInterceptor[] interceptors, int passed, CommandContext ctx, @Nullable Throwable error) {
+        for (int i = passed - 1; i >= 0; i--) {
+            try {
+                interceptors[i].afterCommand(ctx, error);
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // Don't skip the remaining interceptors
             }
+        }
+    }
+
+    /**
+     * @param annotationTimeout The timeout of an annotation in milliseconds.
+     * @return Returns the timeout of a command in nanoseconds or 0 if the command has no timeout.
+     */
+    private long getTimeout(long annotationTimeout) {
+        if (annotationTimeout < 0) return 0; // Timeout is disabled for the command
+        if (annotationTimeout == 0) return this.commandTimeout;
+        return TimeUnit.MILLISECONDS.toNanos(annotationTimeout);
+    }
+
+    /**
+     * Invokes a command method. The method gets interrupted once it runs longer than its timeout.
+     * This only happens on the threads of the {@link PriorityDispatcher}, the event thread of JDA is never interrupted.
+     * <p>
+     * A method can return a {@link CompletionStage} to run asynchronously. The returned future completes once the stage completes,
+     * without holding a thread in the meantime. If the stage doesn't complete within the timeout, it gets cancelled.
+     *
+     * @param method    The method to invoke.
+     * @param instance  The instance to invoke the method on.
+     * @param ctx       The context, which gets passed to the method.
+     * @param name      The name of the command.
+     * @param timeout   The timeout in nanoseconds or 0 for no timeout.
+     * @param onTimeout Runs once the method exceeded its timeout.
+     * @return Returns a {@link CompletableFuture}, which completes once the method is done. It completes exceptionally with
+     * the exception of the method or a {@link CommandTimeoutException} if the method exceeded its timeout.
+     * @throws IllegalAccessException If the method isn't accessible.
+     */
+    private CompletableFuture<?> invoke(Method method, Object instance, Object ctx, String name, long timeout, Runnable onTimeout) throws IllegalAccessException {
+        final long start = System.nanoTime();
+        final Watchdog.Watch watch = timeout > 0 && this.dispatcher != null ? this.watchdog.watch(timeout, TimeUnit.NANOSECONDS) : null; // Don't interrupt the event thread
+        Object result = null;
+        Throwable error = null;
+        final boolean timedOut;
+        try {
+            result = method.invoke(instance, ctx);
+        } catch (InvocationTargetException e) {
+            error = e.getCause();
+        } finally {
+            timedOut = watch != null && watch.finish();
+        }
+        // Report the timeout even if the method returned normally after the interrupt
+        if (timedOut) {
+            onTimeout.run();
+            return CompletableFuture.failedFuture(new CommandTimeoutException(name, Duration.ofNanos(timeout), error));
+        }
+        if (error != null) return CompletableFuture.failedFuture(error);
+        if (!(result instanceof CompletionStage<?> stage)) return CompletableFuture.completedFuture(result); // Method is synchronous
+
+        // Method is asynchronous
+        final CompletableFuture<Object> completion = new CompletableFuture<>();
+        stage.whenComplete((value, failure) -> {
+            if (failure == null) completion.complete(value);
+            else completion.completeExceptionally(unwrap(failure));
+        });
+        if (timeout > 0 && !completion.isDone()) {
+            this.watchdog.watch(completion, timeout - (System.nanoTime() - start), TimeUnit.NANOSECONDS, () -> new CommandTimeoutException(name, Duration.ofNanos(timeout), null));
+            completion.whenComplete((value, failure) -> {
+                if (!(failure instanceof CommandTimeoutException)) return;
+                onTimeout.run();
+                try {
+                    stage.toCompletableFuture().cancel(true); // Stop waiting for the stage
+                } catch (UnsupportedOperationException ignored) {
+                    // Stage can't be cancelled
+                }
+            });
+        }
+        return completion;
+    }
+
+    /**
+     * @param failure An exception of a {@link CompletionStage}. Can be null.
+     * @return Returns the actual exception, without a wrapping {@link CompletionException}.
+     */
+    @Nullable
+    private static Throwable unwrap(@Nullable Throwable failure) {
+        while (failure instanceof CompletionException && failure.getCause() != null) failure = failure.getCause();
+        return failure;
+    }
+
+    /**
+     * Handles an exception of a command.
+     *
+     * @param event The MessageReceivedEvent of the command.
+     * @param error The exception of the command.
+     */
+    private void handleError(MessageReceivedEvent event, Throwable error) {
+        if (error instanceof IllegalAccessException) error.printStackTrace(); // Command method isn't accessible
+        else if (this.errorHandler != null) this.errorHandler.accept(event, error); // Handle errors
+        else error.printStackTrace();
+    }
+
+    /**
+     * Handles an exception of a slash command.
+     *
+     * @param event The SlashCommandEvent of the slash command.
+     * @param error The exception of the slash command.
+     */
+    private void handleSlashError(SlashCommandEvent event, Throwable error) {
+        if (error instanceof IllegalAccessException) error.printStackTrace(); // Slash command method isn't accessible
+        else if (this.slashErrorHandler != null) this.slashErrorHandler.accept(event, error); // Handle errors
+        else error.printStackTrace();
+    }
+
+    /**
+     * Runs a task on the {@link PriorityDispatcher} or right away if there is none.
+     *
+     * @param dispatchClass The class of the task.
+     * @param event         The event of the task.
+     * @param task          The task.
+     * @param dropAction    A {@link Runnable}, which runs if the task is shed. Can be null.
+     */
+    private void dispatch(DispatchClass dispatchClass, MessageReceivedEvent event, Runnable task, Runnable dropAction) {
+        final long key = event.isFromGuild() ? event.getGuild().getIdLong() : 0; // Direct messages share one key
+        if (this.dispatcher == null || !this.dispatcher.submit(dispatchClass, key, task, dropAction)) task.run();
+    }
+
+    /**
+     * Runs an interaction on the {@link PriorityDispatcher} or right away if there is none.
+     * The interaction is dropped if it can't start early enough anymore to be acknowledged.
+     *
+     * @param interaction The interaction.
+     * @param task        The task.
+     * @param dropAction  A {@link Runnable}, which runs if the task is dropped or shed. Can be null.
+     */
+    private void dispatchInteraction(Interaction interaction, Runnable task, Runnable dropAction) {
+        if (this.dispatcher == null) {
+            task.run();
+            return;
+        }
+
+        final long key = interaction.getGuild() != null ? interaction.getGuild().getIdLong() : 0; // Direct messages share one key
+        final long remaining = getCreationTime(interaction.getIdLong()) + INTERACTION_START_WINDOW - System.currentTimeMillis(); // Time left to start
+        if (!this.dispatcher.submit(DispatchClass.INTERACTION, key, task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remaining), dropAction)) task.run();
+    }
+
+    /**
+     * Replies with a preset, once a command doesn't run because the bot or the command is overloaded.
+     *
+     * @param factory   The preset to reply with. Can be null to not reply.
+     * @param event     The MessageReceivedEvent of the command.
+     * @param prefix    The used prefix.
+     * @param arguments The arguments of the command.
+     * @param command   The command, which didn't run.
+     */
+    private void sendOverloadReply(CommandMessageFactory factory, MessageReceivedEvent event, String prefix, String arguments, CommandData command) {
+        if (factory == null) return; // Command is skipped silently
+        if (!this.overloadThrottle.tryAcquire(event.getChannel().getIdLong())) return; // Don't add to the load with a reply for every message
+
+        factory.invoke(new CommandContext(prefix, event, arguments, command, this, this)).send();
+    }
+
+    /**
+     * @param id A snowflake id.
+     * @return Returns the creation time of the snowflake in milliseconds since the epoch.
+     */
+    private static long getCreationTime(long id) {
+        return (id >>> 22) + DISCORD_EPOCH;
+    }
+
+    /**
+     * Finds the longest prefix a message starts with.
+     * For more than one prefix a {@link PrefixTrie} is used, which is shared between all guilds with the same prefixes.
+     * Once the cache of tries is full, prefixes without a cached trie are compared one by one instead of building a trie for every message.
+     *
+     * @param prefixes All prefixes of the guild.
+     * @param rawMsg   The raw content of the message.
+     * @return Returns the length of the matching prefix or -1 if the message doesn't start with a prefix.
+     */
+    private int matchPrefix(Collection<String> prefixes, String rawMsg) {
+        // Only one prefix
+        if (prefixes.size() == 1) {
+            final String prefix = prefixes.iterator().next();
+            return rawMsg.startsWith(prefix) ? prefix.length() : -1;
+        }
+        if (prefixes.isEmpty()) return -1;
+
+        PrefixTrie trie = this.prefixTries.get(prefixes);
+        if (trie == null) {
+            // Keep memory bounded, even if almost every guild has its own prefixes
+            if (this.prefixTries.size() >= MAX_PREFIX_TRIES) {
+                int longest = -1;
+                for (String prefix : prefixes) {
+                    if (prefix.length() > longest && rawMsg.startsWith(prefix)) longest = prefix.length();
+                }
+                return longest;
+            }
+            trie = new PrefixTrie(prefixes);
+            final PrefixTrie cached = this.prefixTries.putIfAbsent(prefixes instanceof Set ? Set.copyOf(prefixes) : List.copyOf(prefixes), trie);
+            if (cached != null) trie = cached;
+        }
+        return trie.match(rawMsg);
+    }
+
+    /**
+     * Replies to an unknown command with the closest command names, if the unknown command factory is set up.
+     * Nothing is sent if no command is close enough or if the user or channel got a reply recently.
+     *
+     * @param event  The MessageReceivedEvent.
+     * @param prefix The used prefix.
+     * @param msg    The message without the prefix.
+     */
+    private void suggestCommands(MessageReceivedEvent event, String prefix, String msg) {
+        final CommandMessageFactory factory = this.commandMessageFactories.getUnknownCommandFactory();
+        if (factory == null) return; // Unknown commands are ignored
+
+        int end = 0;
+        while (end < msg.length() && !Character.isWhitespace(msg.charAt(end))) end++; // Find end of first word
+        if (end == 0) return; // Message is only the prefix
+        // User or channel got a reply in the cooldown already, checked before the expensive search
+        if (this.unknownCommandThrottle.isThrottled(event.getAuthor().getIdLong()) || this.unknownCommandThrottle.isThrottled(event.getChannel().getIdLong())) return;
+
+        final String word = msg.substring(0, end);
+        final List<String> suggestions = this.commandRegistry.suggest(word, word.length() <= 4 ? 1 : 2, MAX_SUGGESTIONS);
+        if (suggestions.isEmpty()) return; // Message isn't a typo of a command
+        if (event.isFromGuild() && !this.selfPermissionCache.canWrite((GuildChannel) event.getChannel())) return;
+        // Only one reply per user and channel in the cooldown, the user only uses up the cooldown if the channel is free
+        if (!this.unknownCommandThrottle.tryAcquire(event.getChannel().getIdLong()) || !this.unknownCommandThrottle.tryAcquire(event.getAuthor().getIdLong()))
+            return;
+
+        final String arguments = end == msg.length() ? "" : msg.substring(end + 1);
+        factory.invoke(new CommandContext(prefix, event, arguments, null, this, this, suggestions)).send();
+    }
+
+    /**
+     * Removes the mention of the bot from the start of a message.
+     * The mention strings are only built once per bot account.
+     *
+     * @param event  The MessageReceivedEvent.
+     * @param rawMsg The raw content of the message.
+     * @return Returns the message without the mention or null if the message doesn't start with the mention of the bot.
+     */
+    @Nullable
+    private String stripMention(MessageReceivedEvent event, String rawMsg) {
+        final long selfId = event.getJDA().getSelfUser().getIdLong();
+        Mentions mentions = this.mentions;
+        if (mentions == null || mentions.selfId() != selfId) {
+            mentions = new Mentions(selfId, "<@" + Long.toUnsignedString(selfId) + ">", "<@!" + Long.toUnsignedString(selfId) + ">");
+            this.mentions = mentions;
+        }
+
+        if (rawMsg.startsWith(mentions.mention())) return rawMsg.substring(mentions.mention().length());
+        if (rawMsg.startsWith(mentions.nicknameMention())) return rawMsg.substring(mentions.nicknameMention().length());
+        return null;
+    }
+
+    /**
+     * @param stage The stage in which a message got rejected.
+     */
+    private void reject(RejectionStage stage) {
+        this.rejections.get(stage).increment();
+    }
+
+    /**
+     * @return Returns the amount of messages, which were passed to {@link DefaultCommandService#processCommandExecution(MessageReceivedEvent)}.
+     */
+    public long getReceivedMessages() {
+        return this.receivedMessages.sum();
+    }
+
+    /**
+     * @param stage A stage of {@link DefaultCommandService#processCommandExecution(MessageReceivedEvent)}.
+     * @return Returns the amount of messages, which got rejected in the stage.
+     */
+    public long getRejectedMessages(RejectionStage stage) {
+        return this.rejections.get(stage).sum();
     }
 
     /**
@@ -180,4 +1067,14 @@ public class DefaultCommandService implements ICommandService, ISlashCommandServ
         }
     }
 
+    /**
+     * The mentions of the bot, which can be used instead of a prefix.
+     *
+     * @param selfId          The id of the bot.
+     * @param mention         The mention of the bot.
+     * @param nicknameMention The mention of the bot with a nickname.
+     */
+    private record Mentions(long selfId, String mention, String nicknameMention) {
+    }
+
 }
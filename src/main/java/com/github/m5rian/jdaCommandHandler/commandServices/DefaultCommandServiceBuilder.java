@@ -1,15 +1,26 @@
 package com.github.m5rian.jdaCommandHandler.commandServices;
 
 import com.github.m5rian.jdaCommandHandler.CommandHandler;
+import com.github.m5rian.jdaCommandHandler.command.CommandInterceptor;
 import com.github.m5rian.jdaCommandHandler.commandMessages.CommandMessageFactory;
 import com.github.m5rian.jdaCommandHandler.commandMessages.CommandUsageFactory;
+import com.github.m5rian.jdaCommandHandler.conversation.SessionStore;
+import com.github.m5rian.jdaCommandHandler.dispatch.CircuitBreaker;
+import com.github.m5rian.jdaCommandHandler.dispatch.PriorityDispatcher;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.events.interaction.SlashCommandEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -18,20 +29,49 @@ import java.util.function.Supplier;
 /**
  * @author Marian
  * The builder for {@link DefaultCommandService}.
+ * <p>
+ * The settings are package-private, so the service reads them straight from the builder instead of a long list of constructor parameters.
  */
 public class DefaultCommandServiceBuilder {
-    private final List<CommandHandler> commands = new ArrayList<>();
-    private final List<CommandHandler> slashCommands = new ArrayList<>();
+    final List<CommandHandler> commands = new ArrayList<>();
+    final List<CommandHandler> slashCommands = new ArrayList<>();
+    final List<CommandHandler> triggers = new ArrayList<>();
+    final List<CommandHandler> components = new ArrayList<>();
 
-    private String defaultPrefix;
-    private Function<Guild, String> customPrefix;
-    private boolean allowMention = false;
-    private CommandMessageFactory infoFactory;
-    private List<String> userBlacklist = new ArrayList<>();
-    private CommandMessageFactory warningFactory;
-    private CommandMessageFactory errorFactory;
-    private CommandUsageFactory usageFactory;
-    private BiConsumer<MessageReceivedEvent, Throwable> errorHandler;
+    String defaultPrefix;
+    Function<Guild, ? extends Collection<String>> customPrefix;
+    boolean allowMention = false;
+    CommandMessageFactory infoFactory;
+    final Blacklist blacklist = new Blacklist();
+    CommandMessageFactory warningFactory;
+    CommandMessageFactory errorFactory;
+    CommandUsageFactory usageFactory;
+    CommandMessageFactory unknownCommandFactory;
+    Duration unknownCommandCooldown = Duration.ofSeconds(10);
+    SessionStore sessionStore;
+    Duration slashCommandDeferBudget;
+    PriorityDispatcher dispatcher;
+    CommandMessageFactory busyFactory;
+    final Map<String, Integer> concurrencyLimits = new HashMap<>();
+    final Map<String, Integer> slashConcurrencyLimits = new HashMap<>();
+    CircuitBreaker.Settings circuitBreakerSettings;
+    CommandMessageFactory circuitOpenFactory;
+    String slashCommandFallback;
+    Duration commandTimeout;
+    final List<CommandInterceptor> interceptors = new ArrayList<>();
+    final Map<String, List<CommandInterceptor>> categoryInterceptors = new LinkedHashMap<>();
+    int deduplicationSlots;
+    Duration deduplicationWindow;
+    int editCapacity;
+    Duration editWindow;
+    String slashCommandBusyMessage;
+    BiConsumer<MessageReceivedEvent, Throwable> errorHandler;
+    BiConsumer<SlashCommandEvent, Throwable> slashErrorHandler;
+    PermissionCache permissionCache;
+    BlacklistStore blacklistStore;
+    char[] prefixStartCharacters;
+    Supplier<? extends Map<Long, ? extends Collection<String>>> disabledCommands;
+    Supplier<? extends Map<Long, ? extends Map<String, String>>> guildAliases;
 
     /**
      * Set the default prefix.
@@ -57,7 +97,36 @@ public class DefaultCommandServiceBuilder {
      * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
      */
     public DefaultCommandServiceBuilder setVariablePrefix(Function<Guild, String> prefix) {
-        this.customPrefix = prefix;
+        this.customPrefix = guild -> List.of(prefix.apply(guild));
+        return this;
+    }
+
+    /**
+     * Use this method to make multiple guild specific prefixes.
+     * A command can be fired with any of the prefixes, the longest matching prefix is used.
+     * The {@link DefaultCommandServiceBuilder#defaultPrefix} will be replaced with the prefixes.
+     * <p>
+     * Guilds with the same prefixes share the structure the prefixes are matched with.
+     *
+     * @param prefixes A Function, which returns all prefixes of a guild.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setVariablePrefixes(Function<Guild, ? extends Collection<String>> prefixes) {
+        this.customPrefix = prefixes;
+        return this;
+    }
+
+    /**
+     * Tells the command service with which characters the variable prefixes can start.
+     * Messages which don't start with one of these characters, the default prefix or the mention are rejected
+     * without calling the {@link DefaultCommandServiceBuilder#setVariablePrefix(Function)} function.
+     * Without this hint every message needs to be checked with the variable prefix.
+     *
+     * @param characters All characters the variable prefixes can start with.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setPrefixStartCharacters(char... characters) {
+        this.prefixStartCharacters = characters.clone();
         return this;
     }
 
@@ -92,8 +161,96 @@ public class DefaultCommandServiceBuilder {
         return this;
     }
 
+    /**
+     * @param clazz A class with methods annotated with {@link com.github.m5rian.jdaCommandHandler.trigger.TriggerEvent}.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder registerTriggerClass(CommandHandler clazz) {
+        this.triggers.add(clazz);
+        return this;
+    }
+
+    public DefaultCommandServiceBuilder registerTriggerClasses(CommandHandler... classes) {
+        this.triggers.addAll(Arrays.asList(classes));
+        return this;
+    }
+
+    /**
+     * @param clazz A class with methods annotated with {@link com.github.m5rian.jdaCommandHandler.component.ComponentEvent}.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder registerComponentClass(CommandHandler clazz) {
+        this.components.add(clazz);
+        return this;
+    }
+
+    public DefaultCommandServiceBuilder registerComponentClasses(CommandHandler... classes) {
+        this.components.addAll(Arrays.asList(classes));
+        return this;
+    }
+
+    /**
+     * @param userBlacklist A {@link Supplier} which returns the ids of all users, which can't use any commands.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
     public DefaultCommandServiceBuilder setUserBlacklist(Supplier<List<String>> userBlacklist) {
-        this.userBlacklist.addAll(userBlacklist.get());
+        this.blacklist.replaceAll(Blacklist.Scope.USER, toIds(userBlacklist.get()));
+        return this;
+    }
+
+    /**
+     * @param guildBlacklist A {@link Supplier} which returns the ids of all guilds, in which no commands can be used.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setGuildBlacklist(Supplier<List<String>> guildBlacklist) {
+        this.blacklist.replaceAll(Blacklist.Scope.GUILD, toIds(guildBlacklist.get()));
+        return this;
+    }
+
+    /**
+     * @param channelBlacklist A {@link Supplier} which returns the ids of all channels, in which no commands can be used.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setChannelBlacklist(Supplier<List<String>> channelBlacklist) {
+        this.blacklist.replaceAll(Blacklist.Scope.CHANNEL, toIds(channelBlacklist.get()));
+        return this;
+    }
+
+    /**
+     * Disable commands in specific guilds.
+     * Disabled commands aren't executed in the guild, they can be toggled later on with {@link DefaultCommandService#getCommandToggles()}.
+     *
+     * @param disabledCommands A {@link Supplier} which returns a map of guild ids to the names of the commands, which are disabled in the guild.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setDisabledCommands(Supplier<? extends Map<Long, ? extends Collection<String>>> disabledCommands) {
+        this.disabledCommands = disabledCommands;
+        return this;
+    }
+
+    /**
+     * Add custom aliases of commands to specific guilds.
+     * The aliases can be changed later on with {@link DefaultCommandService#getGuildAliases()}.
+     *
+     * @param guildAliases A {@link Supplier} which returns a map of guild ids to maps of aliases to command names.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setGuildAliases(Supplier<? extends Map<Long, ? extends Map<String, String>>> guildAliases) {
+        this.guildAliases = guildAliases;
+        return this;
+    }
+
+    /**
+     * Persist the blacklist in a directory.
+     * The persisted ids are available right after a restart, ids of {@link DefaultCommandServiceBuilder#setUserBlacklist(Supplier)},
+     * {@link DefaultCommandServiceBuilder#setGuildBlacklist(Supplier)} and {@link DefaultCommandServiceBuilder#setChannelBlacklist(Supplier)}
+     * are added on top of them.
+     *
+     * @param directory The directory to store the blacklist in.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder persistBlacklist(Path directory) {
+        this.blacklistStore = new BlacklistStore(directory);
         return this;
     }
 
@@ -117,6 +274,33 @@ public class DefaultCommandServiceBuilder {
         return this;
     }
 
+    /**
+     * Reply to unknown commands with the names of similar commands.
+     * The suggestions are available with {@link com.github.m5rian.jdaCommandHandler.command.CommandContext#getSuggestions()}.
+     * Messages which aren't similar to any command are ignored.
+     * Each user and channel gets at most one reply every 10 seconds.
+     *
+     * @param unknownCommandFactory A preset for the reply.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setUnknownCommandFactory(CommandMessageFactory unknownCommandFactory) {
+        this.unknownCommandFactory = unknownCommandFactory;
+        return this;
+    }
+
+    /**
+     * Reply to unknown commands with the names of similar commands.
+     *
+     * @param unknownCommandFactory A preset for the reply.
+     * @param cooldown              The minimum time between two replies for the same user or in the same channel.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setUnknownCommandFactory(CommandMessageFactory unknownCommandFactory, Duration cooldown) {
+        this.unknownCommandFactory = unknownCommandFactory;
+        this.unknownCommandCooldown = cooldown;
+        return this;
+    }
+
     /**
      * @param error {@link Consumer} which contains the {@link Exception} as a parameter.
      * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
@@ -126,28 +310,233 @@ public class DefaultCommandServiceBuilder {
         return this;
     }
 
+    /**
+     * Handles exceptions of slash commands, including a {@link com.github.m5rian.jdaCommandHandler.exceptions.CommandTimeoutException}.
+     * Without a handler the stack trace gets printed.
+     *
+     * @param error {@link BiConsumer} which gets the {@link SlashCommandEvent} and the exception.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder handleSlashCommandErrors(BiConsumer<SlashCommandEvent, Throwable> error) {
+        this.slashErrorHandler = error;
+        return this;
+    }
+
+    /**
+     * Cache permission decisions of members.
+     * Cached decisions get invalidated once roles, role permissions or permission overrides change.
+     *
+     * @param maxSize The maximum amount of decisions to cache.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder cachePermissions(int maxSize) {
+        this.permissionCache = new PermissionCache(maxSize);
+        return this;
+    }
+
+    /**
+     * @param sessionStore A {@link SessionStore} for the sessions of conversations, for example a {@link com.github.m5rian.jdaCommandHandler.conversation.SpillingSessionStore}.
+     *                     By default all sessions are kept in memory.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setSessionStore(SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+        return this;
+    }
+
+    /**
+     * Discord requires slash commands to be acknowledged within 3 seconds.
+     * With a budget, slash commands which didn't reply within the budget get deferred automatically.
+     * Replies of the {@link com.github.m5rian.jdaCommandHandler.slashCommand.SlashCommandContext} then edit the deferred response.
+     *
+     * @param budget The time after which a slash command gets deferred, for example 1.5 seconds. By default slash commands never get deferred.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setSlashCommandDeferBudget(Duration budget) {
+        if (budget.isNegative() || budget.compareTo(Duration.ofSeconds(3)) >= 0)
+            throw new IllegalArgumentException("The budget must be between 0 and 3 seconds");
+        this.slashCommandDeferBudget = budget;
+        return this;
+    }
+
+    /**
+     * By default commands run on the event thread of JDA.
+     * With a {@link PriorityDispatcher} they run on its threads instead, with interactions ahead of text commands and event waiter callbacks.
+     * Event waiter callbacks are never lost: once the queues are full and a callback gets shed, it runs right away on the thread which shed it.
+     *
+     * @param dispatcher The dispatcher to run commands on.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setDispatcher(PriorityDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        return this;
+    }
+
+    /**
+     * Sets a preset to reply with, once a text command is shed because the queue of the {@link PriorityDispatcher} is full.
+     * There is at most one reply per channel every 10 seconds.
+     *
+     * @param busyFactory A preset for the reply.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setBusyFactory(CommandMessageFactory busyFactory) {
+        this.busyFactory = busyFactory;
+        return this;
+    }
+
+    /**
+     * Limits how many invocations of a command run at the same time. The actual limit adapts to the latency of the command.
+     * This overrides {@link com.github.m5rian.jdaCommandHandler.command.CommandEvent#concurrencyLimit()}.
+     *
+     * @param command  The full name of the command, including the names of its parents.
+     * @param maxLimit The maximum concurrency.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setConcurrencyLimit(String command, int maxLimit) {
+        this.concurrencyLimits.put(command, maxLimit);
+        return this;
+    }
+
+    /**
+     * Limits how many invocations of a slash command run at the same time. The actual limit adapts to the latency of the slash command.
+     * This overrides {@link com.github.m5rian.jdaCommandHandler.slashCommand.SlashCommandEvent#concurrencyLimit()}.
+     *
+     * @param slashCommand The name of the slash command.
+     * @param maxLimit     The maximum concurrency.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setSlashCommandConcurrencyLimit(String slashCommand, int maxLimit) {
+        this.slashConcurrencyLimits.put(slashCommand, maxLimit);
+        return this;
+    }
+
+    /**
+     * Gives every command a circuit breaker with the default settings, see {@link CircuitBreaker.Settings#defaults()}.
+     * A command, which fails too often, doesn't run for a while and a fallback message is sent instead.
+     *
+     * @param circuitOpenFactory   A preset to reply to short-circuited commands. Can be null to not reply.
+     * @param slashCommandFallback An ephemeral reply to short-circuited slash commands. Can be null to not reply.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder enableCircuitBreakers(CommandMessageFactory circuitOpenFactory, String slashCommandFallback) {
+        return enableCircuitBreakers(CircuitBreaker.Settings.defaults(), circuitOpenFactory, slashCommandFallback);
+    }
+
+    /**
+     * Gives every command a circuit breaker.
+     * A command, which fails too often, doesn't run for a while and a fallback message is sent instead.
+     *
+     * @param settings             The {@link CircuitBreaker.Settings} of all circuit breakers.
+     * @param circuitOpenFactory   A preset to reply to short-circuited commands. Can be null to not reply.
+     * @param slashCommandFallback An ephemeral reply to short-circuited slash commands. Can be null to not reply.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder enableCircuitBreakers(CircuitBreaker.Settings settings, CommandMessageFactory circuitOpenFactory, String slashCommandFallback) {
+        this.circuitBreakerSettings = settings;
+        this.circuitOpenFactory = circuitOpenFactory;
+        this.slashCommandFallback = slashCommandFallback;
+        return this;
+    }
+
+    /**
+     * Sets the default timeout of commands and slash commands. A command, which runs longer, gets interrupted
+     * and the timeout is reported as a {@link com.github.m5rian.jdaCommandHandler.exceptions.CommandTimeoutException} to the error handler.
+     * Annotations can override the timeout with their {@code timeout} attribute.
+     * <p>
+     * <b>Commands are only interrupted if a {@link PriorityDispatcher} is set.</b> Without one, commands run on the event thread of JDA,
+     * which must never be interrupted. Then only commands which return a {@link java.util.concurrent.CompletionStage} time out.
+     *
+     * @param timeout The default timeout or null to only use the timeouts of the annotations.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setCommandTimeout(Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero()))
+            throw new IllegalArgumentException("The timeout must be positive");
+        this.commandTimeout = timeout;
+        return this;
+    }
+
+    /**
+     * Registers an interceptor, which runs around all commands.
+     *
+     * @param interceptor The {@link CommandInterceptor}.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder registerInterceptor(CommandInterceptor interceptor) {
+        this.interceptors.add(interceptor);
+        return this;
+    }
+
+    /**
+     * Registers an interceptor, which runs around all commands of a category.
+     *
+     * @param category    The category, see {@link com.github.m5rian.jdaCommandHandler.command.CommandEvent#category()}.
+     * @param interceptor The {@link CommandInterceptor}.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder registerInterceptor(String category, CommandInterceptor interceptor) {
+        if (category.isEmpty()) throw new IllegalArgumentException("The category can't be empty");
+        this.categoryInterceptors.computeIfAbsent(category, key -> new ArrayList<>()).add(interceptor);
+        return this;
+    }
+
+    /**
+     * Sets how replayed messages and interactions are detected, for example after the gateway resumed.
+     * A command or slash command only runs once for the same message or interaction.
+     * Duplicates aren't detected by default, 8192 ids for 5 minutes are a good start for large bots.
+     *
+     * @param slots  The amount of remembered ids or 0 to not detect duplicates.
+     * @param window The time after the creation of a message or interaction, until which duplicates are detected.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setDeduplication(int slots, Duration window) {
+        if (slots < 0) throw new IllegalArgumentException("The amount of slots can't be negative");
+        if (slots > 0 && (window == null || window.isNegative() || window.isZero()))
+            throw new IllegalArgumentException("The window must be positive");
+        this.deduplicationSlots = slots;
+        this.deduplicationWindow = window;
+        return this;
+    }
+
+    /**
+     * Runs commands again, once their message gets edited. The command edits its previous response instead of sending a new one,
+     * as long as it responds with {@link com.github.m5rian.jdaCommandHandler.command.CommandContext#reply(String, net.dv8tion.jda.api.entities.MessageEmbed)}
+     * or a {@link com.github.m5rian.jdaCommandHandler.commandMessages.CommandMessage}.
+     * By default edits are ignored.
+     *
+     * @param capacity The maximum amount of remembered commands.
+     * @param window   The time after the creation of a message, until which edits run its command again.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setEditReexecution(int capacity, Duration window) {
+        if (capacity <= 0) throw new IllegalArgumentException("The capacity must be positive");
+        this.editCapacity = capacity;
+        this.editWindow = window;
+        return this;
+    }
+
+    /**
+     * Sets an ephemeral reply to slash commands, which don't run because they exceed their concurrency limit.
+     * Without a reply Discord shows the interaction as failed.
+     *
+     * @param message The content of the reply or null to not reply.
+     * @return Returns {@link DefaultCommandServiceBuilder} for chaining purpose.
+     */
+    public DefaultCommandServiceBuilder setSlashCommandBusyMessage(String message) {
+        this.slashCommandBusyMessage = message;
+        return this;
+    }
+
     /**
      * Build the command service.
      *
      * @return Returns a finished {@link DefaultCommandService}.
      */
     public DefaultCommandService build() {
-        // Return command service
-        return new DefaultCommandService(
-                this.defaultPrefix,
-                this.customPrefix,
-                this.allowMention,
-
-                this.commands,
-                this.slashCommands,
-
-                this.userBlacklist,
-
-                this.infoFactory,
-                this.warningFactory,
-                this.errorFactory,
-                this.usageFactory,
-                this.errorHandler
-        );
+        return new DefaultCommandService(this); // Return command service
+    }
+
+    private long[] toIds(List<String> ids) {
+        return ids.stream().mapToLong(Long::parseUnsignedLong).toArray();
     }
 }
\ No newline at end of file
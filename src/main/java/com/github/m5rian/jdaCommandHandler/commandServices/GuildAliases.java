@@ -0,0 +1,134 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.utils.LongHashSet;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Marian
+ * <p>
+ * Custom aliases of commands, which only exist in specific guilds.
+ * The aliases are an overlay on the command routing, they're resolved to the command name before a command is looked up.
+ * <p>
+ * Only guilds with aliases are stored. A guild without aliases only costs a lookup in a {@link LongHashSet}.
+ * Aliases and command names are interned, because guilds tend to use the same localized names.
+ */
+public class GuildAliases {
+    private final LongHashSet guilds = new LongHashSet(); // Ids of all guilds with aliases
+    private final Map<Long, Map<String, String>> aliases = new ConcurrentHashMap<>(); // Guild id to immutable map of alias to command name
+
+    /**
+     * Adds an alias to a guild.
+     *
+     * @param guildId The id of the guild.
+     * @param alias   The alias. An alias must be a single word.
+     * @param command The name of the command.
+     */
+    public synchronized void add(long guildId, String alias, String command) {
+        final String key = checkAlias(alias);
+        final Map<String, String> updated = new HashMap<>(this.aliases.getOrDefault(guildId, Map.of()));
+        updated.put(key, command.intern());
+        this.aliases.put(guildId, Map.copyOf(updated));
+        this.guilds.add(guildId);
+    }
+
+    /**
+     * Removes an alias of a guild.
+     *
+     * @param guildId The id of the guild.
+     * @param alias   The alias.
+     */
+    public synchronized void remove(long guildId, String alias) {
+        final Map<String, String> current = this.aliases.get(guildId);
+        if (current == null) return; // Guild has no aliases
+
+        final Map<String, String> updated = new HashMap<>(current);
+        updated.remove(alias.toLowerCase(Locale.ROOT));
+        if (updated.isEmpty()) clear(guildId);
+        else this.aliases.put(guildId, Map.copyOf(updated));
+    }
+
+    /**
+     * Removes all aliases of a guild.
+     *
+     * @param guildId The id of the guild.
+     */
+    public synchronized void clear(long guildId) {
+        this.guilds.remove(guildId);
+        this.aliases.remove(guildId);
+    }
+
+    /**
+     * Replaces all aliases of all guilds at once.
+     *
+     * @param aliases A map of guild ids to maps of aliases to command names.
+     */
+    public synchronized void load(Map<Long, ? extends Map<String, String>> aliases) {
+        final Map<Long, Map<String, String>> loaded = new HashMap<>();
+        aliases.forEach((guildId, guildAliases) -> {
+            if (guildAliases.isEmpty()) return;
+
+            final Map<String, String> interned = new HashMap<>();
+            guildAliases.forEach((alias, command) -> interned.put(checkAlias(alias), command.intern()));
+            loaded.put(guildId, Map.copyOf(interned));
+        });
+
+        this.guilds.replaceAll(loaded.keySet().stream().mapToLong(Long::longValue).toArray());
+        this.aliases.keySet().retainAll(loaded.keySet());
+        this.aliases.putAll(loaded);
+    }
+
+    /**
+     * @param guildId The id of the guild.
+     * @return Returns an immutable map of all aliases to their command names of the guild.
+     */
+    public Map<String, String> getAliases(long guildId) {
+        return this.aliases.getOrDefault(guildId, Map.of());
+    }
+
+    /**
+     * @param guildId The id of the guild.
+     * @param alias   An alias.
+     * @return Returns the command name of the alias or null if the guild doesn't have such an alias.
+     */
+    @Nullable
+    public String getCommand(long guildId, String alias) {
+        if (!this.guilds.contains(guildId)) return null;
+        return this.aliases.getOrDefault(guildId, Map.of()).get(alias.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Replaces an alias at the start of a message with its command name.
+     *
+     * @param guildId The id of the guild.
+     * @param msg     The message without the prefix.
+     * @return Returns the message with the command name instead of the alias or the unchanged message if it doesn't start with an alias.
+     */
+    public String resolve(long guildId, String msg) {
+        if (!this.guilds.contains(guildId)) return msg; // Guild has no aliases
+
+        int end = 0;
+        while (end < msg.length() && !Character.isWhitespace(msg.charAt(end))) end++; // Find end of first word
+
+        final String command = this.aliases.getOrDefault(guildId, Map.of()).get(msg.substring(0, end).toLowerCase(Locale.ROOT));
+        if (command == null) return msg; // Message doesn't start with an alias
+        return command + msg.substring(end);
+    }
+
+    /**
+     * @return Returns the amount of guilds with aliases.
+     */
+    public int size() {
+        return this.guilds.size();
+    }
+
+    private static String checkAlias(String alias) {
+        if (alias.isEmpty() || alias.chars().anyMatch(Character::isWhitespace))
+            throw new IllegalArgumentException("An alias must be a single word");
+        return alias.toLowerCase(Locale.ROOT).intern();
+    }
+}
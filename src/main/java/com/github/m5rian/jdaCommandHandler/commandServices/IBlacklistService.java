@@ -1,20 +1,33 @@
 package com.github.m5rian.jdaCommandHandler.commandServices;
 
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.User;
 
-import java.util.ArrayList;
-import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * @author Marian
  * <p>
- * This interface provides methods to ban users from using all commands.
+ * This interface provides methods to ban users, guilds and channels from using all commands.
  * This can be implemented in a CommandService. like it's done in the {@link DefaultCommandService}.
  */
 public interface IBlacklistService {
     /**
-     * This list contains all member ids as Strings who are banned.
-     * These users won't be able to use any commands.
+     * The blacklist contains all user, guild and channel ids which are banned.
+     * Banned ids won't be able to use any commands.
+     *
+     * @return Returns the {@link Blacklist} of this service.
      */
-    List<String> userBlacklist = new ArrayList<>();
+    Blacklist getBlacklist();
+
+    /**
+     * @param user    The user who used a command.
+     * @param guild   The guild in which the command was used. Can be null for direct messages.
+     * @param channel The channel in which the command was used.
+     * @return Returns if the user, the guild or the channel is on the blacklist.
+     */
+    default boolean isBlacklisted(User user, @Nullable Guild guild, @Nullable MessageChannel channel) {
+        return this.getBlacklist().isBlacklisted(user.getIdLong(), guild == null ? 0 : guild.getIdLong(), channel == null ? 0 : channel.getIdLong());
+    }
 }
@@ -4,13 +4,19 @@ import com.github.m5rian.jdaCommandHandler.*;
 import com.github.m5rian.jdaCommandHandler.command.CommandContext;
 import com.github.m5rian.jdaCommandHandler.command.CommandData;
 import com.github.m5rian.jdaCommandHandler.command.CommandEvent;
+import com.github.m5rian.jdaCommandHandler.command.CommandInterceptor;
+import com.github.m5rian.jdaCommandHandler.command.CommandRegistry;
+import com.github.m5rian.jdaCommandHandler.command.CommandResponses;
 import com.github.m5rian.jdaCommandHandler.commandMessages.CommandMessage;
 import com.github.m5rian.jdaCommandHandler.commandMessages.CommandMessageFactories;
 import com.github.m5rian.jdaCommandHandler.commandMessages.CommandUsage;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,23 +27,19 @@ import java.util.List;
 @SuppressWarnings("unused")
 public interface ICommandService {
     /**
-     * Stores all registered commands.
+     * @return Returns the {@link CommandRegistry}, which stores all registered commands of this service.
      */
-    List<CommandData> commands = new ArrayList<>();
-
-    CommandMessageFactories commandMessageFactories = new CommandMessageFactories();
+    CommandRegistry getCommandRegistry();
 
     /**
-     * Stores the {@link EventWaiter}.
+     * @return Returns the {@link CommandMessageFactories} of this service.
      */
-    EventWaiter eventWaiter = new EventWaiter();
+    CommandMessageFactories getCommandMessageFactories();
 
     /**
-     * @return Returns an {@link EventWaiter}
+     * @return Returns the {@link EventWaiter} of this service.
      */
-    default EventWaiter getEventWaiter() {
-        return eventWaiter;
-    }
+    EventWaiter getEventWaiter();
 
     /**
      * Register a class with command methods.
@@ -46,15 +48,7 @@ public interface ICommandService {
      * @param object The initialized object where command methods are.
      */
     default void registerCommandClass(CommandHandler object) {
-        // Go through each method
-        for (Method method : object.getClass().getMethods()) {
-            // Method is command
-            if (method.isAnnotationPresent(CommandEvent.class)) {
-                final CommandEvent annotation = method.getAnnotation(CommandEvent.class); // Get command annotation
-                final CommandData commandData = new CommandData(object, method, annotation); // Create method info object
-                this.commands.add(commandData); // Put command in list
-            }
-        }
+        this.getCommandRegistry().register(getCommandMethods(object)); // Register all commands at once
     }
 
     /**
@@ -77,27 +71,74 @@ public interface ICommandService {
      * @param object The initialized object where to unregister all command methods.
      */
     default void unregisterCommandClass(CommandHandler object) {
-        // For every item
-        this.commands.forEach(methodInfo -> {
-            // Instance is equal to given object
-            if (methodInfo.getInstance() == object) {
-                this.commands.remove(methodInfo); // Remove method
-            }
-        });
+        this.getCommandRegistry().unregister(methodInfo -> methodInfo.getInstance() == object); // Remove all methods of the instance
+    }
+
+    /**
+     * Replace command classes with new versions of them in a single step.
+     * New messages are routed to the new command classes, while invocations which already started finish on the old ones.
+     * <p>A method which you wish to be a command must have the {@link CommandEvent} annotation</p>
+     *
+     * @param oldObjects The registered objects to unregister all command methods of.
+     * @param newObjects The initialized objects where the new command methods are.
+     */
+    default void replaceCommandClasses(Collection<? extends CommandHandler> oldObjects, Collection<? extends CommandHandler> newObjects) {
+        final List<CommandData> commands = new ArrayList<>();
+        newObjects.forEach(object -> commands.addAll(getCommandMethods(object))); // Get commands of the new objects
+        this.getCommandRegistry().replace(methodInfo -> oldObjects.stream().anyMatch(object -> object == methodInfo.getInstance()), commands); // Swap all commands at once
+    }
+
+    /**
+     * Replace a command class with a new version of it in a single step.
+     * <p>A method which you wish to be a command must have the {@link CommandEvent} annotation</p>
+     *
+     * @param oldObject The registered object to unregister all command methods of.
+     * @param newObject The initialized object where the new command methods are.
+     */
+    default void replaceCommandClass(CommandHandler oldObject, CommandHandler newObject) {
+        replaceCommandClasses(List.of(oldObject), List.of(newObject));
+    }
+
+    /**
+     * Register an interceptor, which runs around all commands.
+     *
+     * @param interceptor The {@link CommandInterceptor}.
+     */
+    default void registerInterceptor(CommandInterceptor interceptor) {
+        this.getCommandRegistry().getInterceptors().register(interceptor);
+    }
+
+    /**
+     * Register an interceptor, which runs around all commands of a category.
+     *
+     * @param category    The category, see {@link CommandEvent#category()}.
+     * @param interceptor The {@link CommandInterceptor}.
+     */
+    default void registerInterceptor(String category, CommandInterceptor interceptor) {
+        this.getCommandRegistry().getInterceptors().register(category, interceptor);
+    }
+
+    /**
+     * Unregister an interceptor from all commands and categories.
+     *
+     * @param interceptor The {@link CommandInterceptor}.
+     */
+    default void unregisterInterceptor(CommandInterceptor interceptor) {
+        this.getCommandRegistry().getInterceptors().unregister(interceptor);
     }
 
     /**
      * Unregister all registered commands.
      */
     default void unregisterAllCommands() {
-        this.commands.clear();
+        this.getCommandRegistry().clear();
     }
 
     /**
-     * @return Returns a Map with all registered commands.
+     * @return Returns an immutable list with all registered commands.
      */
     default List<CommandData> getCommands() {
-        return this.commands;
+        return this.getCommandRegistry().getCommands();
     }
 
     /**
@@ -108,20 +149,55 @@ public interface ICommandService {
      */
     void processCommandExecution(MessageReceivedEvent event) throws Exception;
 
+    /**
+     * Runs once a message got edited. By default edits are ignored.
+     *
+     * @param event The MessageUpdateEvent.
+     * @throws Exception Any exceptions will be thrown to the {@link CommandListener}.
+     */
+    default void processCommandUpdate(MessageUpdateEvent event) throws Exception {
+    }
+
+    /**
+     * @return Returns the {@link CommandResponses}, which remember the responses to commands, or null if edits don't run commands again.
+     */
+    @Nullable
+    default CommandResponses getCommandResponses() {
+        return null;
+    }
+
+    /**
+     * @param object The initialized object where command methods are.
+     * @return Returns all command methods of the object.
+     */
+    private List<CommandData> getCommandMethods(CommandHandler object) {
+        final List<CommandData> commands = new ArrayList<>();
+        // Go through each method
+        for (Method method : object.getClass().getMethods()) {
+            // Method is command
+            if (method.isAnnotationPresent(CommandEvent.class)) {
+                final CommandEvent annotation = method.getAnnotation(CommandEvent.class); // Get command annotation
+                final CommandData commandData = new CommandData(object, method, annotation); // Create method info object
+                commands.add(commandData); // Put command in list
+            }
+        }
+        return commands;
+    }
+
     default CommandMessage executeInfo(CommandContext ctx) {
-        return this.commandMessageFactories.getInfoFactory().invoke(ctx);
+        return this.getCommandMessageFactories().getInfoFactory().invoke(ctx);
     }
 
     default CommandMessage executeWarn(CommandContext ctx) {
-        return this.commandMessageFactories.getWarningFactory().invoke(ctx);
+        return this.getCommandMessageFactories().getWarningFactory().invoke(ctx);
     }
 
     default CommandMessage executeError(CommandContext ctx) {
-        return this.commandMessageFactories.getErrorFactory().invoke(ctx);
+        return this.getCommandMessageFactories().getErrorFactory().invoke(ctx);
     }
 
     default CommandUsage executeUsage(CommandContext ctx) {
-        return this.commandMessageFactories.getUsageFactory().invoke(ctx);
+        return this.getCommandMessageFactories().getUsageFactory().invoke(ctx);
     }
 
 }
@@ -0,0 +1,103 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.CommandHandler;
+import com.github.m5rian.jdaCommandHandler.CommandListener;
+import com.github.m5rian.jdaCommandHandler.component.ComponentData;
+import com.github.m5rian.jdaCommandHandler.component.ComponentEvent;
+import com.github.m5rian.jdaCommandHandler.component.ComponentRegistry;
+import net.dv8tion.jda.api.events.interaction.GenericComponentInteractionCreateEvent;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Marian
+ * <p>
+ * This interface provides methods to route buttons and selection menus to their handlers.
+ * This can be implemented in a CommandService. like it's done in the {@link DefaultCommandService}.
+ */
+@SuppressWarnings("unused")
+public interface IComponentService {
+    /**
+     * @return Returns the {@link ComponentRegistry}, which stores all registered component handlers of this service.
+     */
+    ComponentRegistry getComponentRegistry();
+
+    /**
+     * Register a class with component methods.
+     * <p>A method which you wish to handle components must have the {@link ComponentEvent} annotation</p>
+     *
+     * @param object The initialized object where component methods are.
+     */
+    default void registerComponentClass(CommandHandler object) {
+        this.getComponentRegistry().register(getComponentMethods(object)); // Register all component handlers at once
+    }
+
+    /**
+     * Register more than one class with component methods.
+     *
+     * @param objects The initialized objects where component methods are.
+     */
+    default void registerComponentClasses(CommandHandler... objects) {
+        // Go through each class
+        for (CommandHandler object : objects) {
+            registerComponentClass(object); // Register component handlers
+        }
+    }
+
+    /**
+     * Unregister a component class.
+     *
+     * @param object The initialized object where to unregister all component methods.
+     */
+    default void unregisterComponentClass(CommandHandler object) {
+        this.getComponentRegistry().unregister(component -> component.getInstance() == object); // Remove all methods of the instance
+    }
+
+    /**
+     * Replace component classes with new versions of them in a single step.
+     * <p>A method which you wish to handle components must have the {@link ComponentEvent} annotation</p>
+     *
+     * @param oldObjects The registered objects to unregister all component methods of.
+     * @param newObjects The initialized objects where the new component methods are.
+     */
+    default void replaceComponentClasses(Collection<? extends CommandHandler> oldObjects, Collection<? extends CommandHandler> newObjects) {
+        final List<ComponentData> components = new ArrayList<>();
+        newObjects.forEach(object -> components.addAll(getComponentMethods(object))); // Get component handlers of the new objects
+        this.getComponentRegistry().replace(component -> oldObjects.stream().anyMatch(object -> object == component.getInstance()), components); // Swap all component handlers at once
+    }
+
+    /**
+     * @param object The initialized object where component methods are.
+     * @return Returns all component methods of the object.
+     */
+    private List<ComponentData> getComponentMethods(CommandHandler object) {
+        final List<ComponentData> components = new ArrayList<>();
+        // Go through each method
+        for (Method method : object.getClass().getMethods()) {
+            // Method is component handler
+            if (method.isAnnotationPresent(ComponentEvent.class)) {
+                final ComponentEvent annotation = method.getAnnotation(ComponentEvent.class); // Get component annotation
+                components.add(new ComponentData(object, method, annotation)); // Put component handler in list
+            }
+        }
+        return components;
+    }
+
+    /**
+     * @return Returns an immutable list with all registered component handlers.
+     */
+    default List<ComponentData> getComponents() {
+        return this.getComponentRegistry().getComponents();
+    }
+
+    /**
+     * Runs once a button is clicked or a selection menu is used.
+     *
+     * @param event The ButtonClickEvent or SelectionMenuEvent.
+     * @throws Exception Any exceptions will be thrown to the {@link CommandListener}.
+     */
+    void processComponentExecution(GenericComponentInteractionCreateEvent event) throws Exception;
+}
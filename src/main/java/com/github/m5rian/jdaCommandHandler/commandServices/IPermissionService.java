@@ -15,9 +15,9 @@ import java.util.*;
 @SuppressWarnings("unused")
 public interface IPermissionService {
     /**
-     *
+     * @return Returns the {@link PermissionRegistry}, which stores all registered permissions of this service.
      */
-    Map<Class<? extends Permission>, Permission> permissions = new HashMap<>();
+    PermissionRegistry getPermissionRegistry();
 
     /**
      * Register a permission.
@@ -25,7 +25,8 @@ public interface IPermissionService {
      * @param permission The permission to register.
      */
     default void registerPermission(Permission permission) {
-        this.permissions.put(permission.getClass(), permission);
+        this.getPermissionRegistry().register(permission);
+        if (getPermissionCache() != null) getPermissionCache().invalidateAll(); // Cached decisions might be outdated
     }
 
     /**
@@ -45,14 +46,16 @@ public interface IPermissionService {
      * @param permission The permission to unregister.
      */
     default void unregisterPermission(Class<? extends Permission> permission) {
-        this.permissions.remove(permission);
+        this.getPermissionRegistry().unregister(permission);
+        if (getPermissionCache() != null) getPermissionCache().invalidateAll(); // Cached decisions might be outdated
     }
 
     /**
      * Removes all registered permissions.
      */
     default void unregisterAllPermissions() {
-        this.permissions.clear();
+        this.getPermissionRegistry().clear();
+        if (getPermissionCache() != null) getPermissionCache().invalidateAll(); // Cached decisions might be outdated
     }
 
     /**
@@ -62,19 +65,37 @@ public interface IPermissionService {
      */
     @Nullable
     default Permission getPermission(Class<? extends Permission> clazz) {
-        return this.permissions.get(clazz);
+        return this.getPermissionRegistry().get(clazz);
     }
 
     /**
-     * @return Returns all registered permissions as a HashMap.
+     * @return Returns all registered permissions as an immutable Map.
      */
     default Map<Class<? extends Permission>, Permission> getPermissions() {
-        return this.permissions;
+        return this.getPermissionRegistry().getPermissions();
+    }
+
+    /**
+     * @return Returns the {@link PermissionCache} which stores decisions of {@link IPermissionService#hasPermissions(Member, Class[])}.
+     * By default this method returns null, which means that decisions won't get cached.
+     */
+    @Nullable
+    default PermissionCache getPermissionCache() {
+        return null;
+    }
+
+    /**
+     * @return Returns the {@link SelfPermissionCache} which stores if the bot can write in a channel.
+     * By default this method returns null, which means that the permissions of the bot won't get cached.
+     */
+    @Nullable
+    default SelfPermissionCache getSelfPermissionCache() {
+        return null;
     }
 
     /**
-     * /**
      * Checks if a member is allowed to execute the command.
+     * If a {@link PermissionCache} is set, decisions are cached for each permission.
      *
      * @param member      The author, who executed the command.
      * @param permissions The permissions the member needs to execute the command.
@@ -87,20 +108,46 @@ public interface IPermissionService {
 
         if (roles.contains(Everyone.class)) return true; // Everyone permission
 
-        Iterator<Class<? extends Permission>> iterator = roles.iterator(); // Get required roles
-
-        while (iterator.hasNext()) {
-            final Class<? extends Permission> clazz = iterator.next(); // Get current permission class
+        final PermissionCache cache = getPermissionCache();
+        for (Class<? extends Permission> clazz : roles) {
+            final Permission permission = getPermission(clazz); // Get current permission
             // Permission isn't registered
-            if (!this.permissions.containsKey(clazz))
+            if (permission == null)
                 throw new NotRegisteredException(clazz.getSimpleName() + " isn't registered as a role. Please register this role in a CommandService");
-            final Permission permission = getPermission(clazz); // Get current permission
 
-            if (permission.getUserId() != null && !permission.getUserId().equals(member.getId())) return false;
-            if (!permission.getPermissions().isEmpty() && !member.hasPermission(permission.getPermissions())) return false;
-            if (!permission.getRoleIds().isEmpty() && permission.getRoleIds().stream().noneMatch(roleId -> member.getRoles().contains(member.getGuild().getRoleById(roleId)))) return false;
-            if (!permission.getRoleIdsLong().isEmpty() && permission.getRoleIdsLong().stream().noneMatch(roleId -> member.getRoles().contains(member.getGuild().getRoleById(roleId)))) return false;
+            // No cache is set or the command was executed in direct messages
+            if (cache == null || member == null) {
+                if (!hasPermission(member, permission)) return false;
+                continue;
+            }
+
+            final long guildId = member.getGuild().getIdLong();
+            Boolean allowed = cache.get(guildId, member.getIdLong(), clazz); // Get cached decision
+            // Decision isn't cached yet
+            if (allowed == null) {
+                final long generation = cache.getGeneration(guildId, member.getIdLong());
+                allowed = hasPermission(member, permission);
+                cache.put(guildId, member.getIdLong(), clazz, allowed, generation); // Cache decision
+            }
+            if (!allowed) return false;
         }
         return true;
     }
+
+    /**
+     * Checks if a member meets all requirements of a single permission.
+     * This method doesn't use the {@link PermissionCache}.
+     *
+     * @param member     The member to check.
+     * @param permission The registered permission.
+     * @return Returns if the member meets all requirements of the permission.
+     */
+    @SuppressWarnings("ConstantConditions")
+    default boolean hasPermission(Member member, Permission permission) {
+        if (permission.getUserId() != null && !permission.getUserId().equals(member.getId())) return false;
+        if (!permission.getPermissions().isEmpty() && !member.hasPermission(permission.getPermissions())) return false;
+        if (!permission.getRoleIds().isEmpty() && permission.getRoleIds().stream().noneMatch(roleId -> member.getRoles().contains(member.getGuild().getRoleById(roleId)))) return false;
+        if (!permission.getRoleIdsLong().isEmpty() && permission.getRoleIdsLong().stream().noneMatch(roleId -> member.getRoles().contains(member.getGuild().getRoleById(roleId)))) return false;
+        return true;
+    }
 }
\ No newline at end of file
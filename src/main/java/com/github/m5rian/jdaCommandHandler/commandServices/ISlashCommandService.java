@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,10 +29,11 @@ import java.util.Optional;
 @SuppressWarnings("unused")
 public interface ISlashCommandService {
     final Logger LOGGER = LoggerFactory.getLogger(ISlashCommandService.class);
+
     /**
-     * Stores all registered slash commands.
+     * @return Returns the {@link SlashCommandRegistry}, which stores all registered slash commands of this service.
      */
-    List<SlashCommandData> slashCommands = new ArrayList<>();
+    SlashCommandRegistry getSlashCommandRegistry();
 
     /**
      * Register a class with slash command methods.
@@ -40,15 +42,7 @@ public interface ISlashCommandService {
      * @param object The initialized object where command methods are.
      */
     default void registerSlashCommandClass(CommandHandler object) {
-        // Go through each method
-        for (Method method : object.getClass().getMethods()) {
-            // Method is slash command
-            if (method.isAnnotationPresent(SlashCommandEvent.class)) {
-                final SlashCommandEvent commandEventAnnotation = method.getAnnotation(SlashCommandEvent.class); // Get slash command annotation
-                final SlashCommandData commandData = new SlashCommandData(object, method, commandEventAnnotation); // Create method info object
-                this.slashCommands.add(commandData); // Put command in list
-            }
-        }
+        this.getSlashCommandRegistry().register(getSlashCommandMethods(object)); // Register all slash commands at once
     }
 
     /**
@@ -71,27 +65,64 @@ public interface ISlashCommandService {
      * @param object The initialized object where to unregister all command methods.
      */
     default void unregisterSlashCommand(CommandHandler object) {
-        // For every item
-        this.slashCommands.forEach(methodInfo -> {
-            // Instance is equal to given object
-            if (methodInfo.getInstance() == object) {
-                this.slashCommands.remove(methodInfo); // Remove method
-            }
-        });
+        this.getSlashCommandRegistry().unregister(methodInfo -> methodInfo.getInstance() == object); // Remove all methods of the instance
+    }
+
+    /**
+     * Replace slash command classes with new versions of them in a single step.
+     * New slash commands are routed to the new classes, while invocations which already started finish on the old ones.
+     * <p>A method which you wish to be a slash command must have the {@link SlashCommandEvent} annotation</p>
+     *
+     * @param oldObjects The registered objects to unregister all slash command methods of.
+     * @param newObjects The initialized objects where the new slash command methods are.
+     */
+    default void replaceSlashCommandClasses(Collection<? extends CommandHandler> oldObjects, Collection<? extends CommandHandler> newObjects) {
+        final List<SlashCommandData> slashCommands = new ArrayList<>();
+        newObjects.forEach(object -> slashCommands.addAll(getSlashCommandMethods(object))); // Get slash commands of the new objects
+        this.getSlashCommandRegistry().replace(methodInfo -> oldObjects.stream().anyMatch(object -> object == methodInfo.getInstance()), slashCommands); // Swap all slash commands at once
+    }
+
+    /**
+     * Replace a slash command class with a new version of it in a single step.
+     * <p>A method which you wish to be a slash command must have the {@link SlashCommandEvent} annotation</p>
+     *
+     * @param oldObject The registered object to unregister all slash command methods of.
+     * @param newObject The initialized object where the new slash command methods are.
+     */
+    default void replaceSlashCommandClass(CommandHandler oldObject, CommandHandler newObject) {
+        replaceSlashCommandClasses(List.of(oldObject), List.of(newObject));
     }
 
     /**
      * Unregister all registered slash commands.
      */
     default void unregisterAllSlashCommands() {
-        this.slashCommands.clear();
+        this.getSlashCommandRegistry().clear();
     }
 
     /**
-     * @return Returns a Map with all registered slash commands.
+     * @return Returns an immutable list with all registered slash commands.
      */
     default List<SlashCommandData> getSlashCommands() {
-        return this.slashCommands;
+        return this.getSlashCommandRegistry().getSlashCommands();
+    }
+
+    /**
+     * @param object The initialized object where slash command methods are.
+     * @return Returns all slash command methods of the object.
+     */
+    private List<SlashCommandData> getSlashCommandMethods(CommandHandler object) {
+        final List<SlashCommandData> slashCommands = new ArrayList<>();
+        // Go through each method
+        for (Method method : object.getClass().getMethods()) {
+            // Method is slash command
+            if (method.isAnnotationPresent(SlashCommandEvent.class)) {
+                final SlashCommandEvent commandEventAnnotation = method.getAnnotation(SlashCommandEvent.class); // Get slash command annotation
+                final SlashCommandData commandData = new SlashCommandData(object, method, commandEventAnnotation); // Create method info object
+                slashCommands.add(commandData); // Put command in list
+            }
+        }
+        return slashCommands;
     }
 
     /**
@@ -103,12 +134,13 @@ public interface ISlashCommandService {
         int deletedSlashCommands = 0;
 
         final List<Command> discordSlashCommands = jda.retrieveCommands().complete(); // Get slash commands which discord stored
-        final List<SlashCommandData> missingSlashCommands = new ArrayList<>(this.slashCommands); // Commands which need to get registered
+        final List<SlashCommandData> registeredSlashCommands = this.getSlashCommands(); // Slash commands which are registered by the command handler
+        final List<SlashCommandData> missingSlashCommands = new ArrayList<>(registeredSlashCommands); // Commands which need to get registered
 
         // For every slash command which is already registered in discord
         for (Command discordSlashCommand : discordSlashCommands) {
             // Try finding a matching slash command which is already registered by the command handler
-            final Optional<SlashCommandData> matchingRegisteredSlashCommand = this.slashCommands.stream().filter(data -> data.getSlashCommand().name().equals(discordSlashCommand.getName())).findFirst();
+            final Optional<SlashCommandData> matchingRegisteredSlashCommand = registeredSlashCommands.stream().filter(data -> data.getSlashCommand().name().equals(discordSlashCommand.getName())).findFirst();
 
             // Slash command of discord doesn't exist anymore
             if (matchingRegisteredSlashCommand.isEmpty()) {
@@ -0,0 +1,91 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.CommandHandler;
+import com.github.m5rian.jdaCommandHandler.CommandListener;
+import com.github.m5rian.jdaCommandHandler.trigger.TriggerData;
+import com.github.m5rian.jdaCommandHandler.trigger.TriggerEvent;
+import com.github.m5rian.jdaCommandHandler.trigger.TriggerRegistry;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Marian
+ * <p>
+ * This interface provides methods to run triggers, which fire on keywords or patterns in any message.
+ * This can be implemented in a CommandService. like it's done in the {@link DefaultCommandService}.
+ */
+@SuppressWarnings("unused")
+public interface ITriggerService {
+    /**
+     * @return Returns the {@link TriggerRegistry}, which stores all registered triggers of this service.
+     */
+    TriggerRegistry getTriggerRegistry();
+
+    /**
+     * Register a class with trigger methods.
+     * <p>A method which you wish to be a trigger must have the {@link TriggerEvent} annotation</p>
+     *
+     * @param object The initialized object where trigger methods are.
+     */
+    default void registerTriggerClass(CommandHandler object) {
+        this.getTriggerRegistry().register(getTriggerMethods(object)); // Register all triggers at once
+    }
+
+    /**
+     * Replace trigger classes with new versions of them in a single step.
+     * <p>A method which you wish to be a trigger must have the {@link TriggerEvent} annotation</p>
+     *
+     * @param oldObjects The registered objects to unregister all trigger methods of.
+     * @param newObjects The initialized objects where the new trigger methods are.
+     */
+    default void replaceTriggerClasses(Collection<? extends CommandHandler> oldObjects, Collection<? extends CommandHandler> newObjects) {
+        final List<TriggerData> triggers = new ArrayList<>();
+        newObjects.forEach(object -> triggers.addAll(getTriggerMethods(object))); // Get triggers of the new objects
+        this.getTriggerRegistry().replace(trigger -> oldObjects.stream().anyMatch(object -> object == trigger.getInstance()), triggers); // Swap all triggers at once
+    }
+
+    /**
+     * @param object The initialized object where trigger methods are.
+     * @return Returns all trigger methods of the object.
+     */
+    private List<TriggerData> getTriggerMethods(CommandHandler object) {
+        final List<TriggerData> triggers = new ArrayList<>();
+        // Go through each method
+        for (Method method : object.getClass().getMethods()) {
+            // Method is trigger
+            if (method.isAnnotationPresent(TriggerEvent.class)) {
+                final TriggerEvent annotation = method.getAnnotation(TriggerEvent.class); // Get trigger annotation
+                triggers.add(new TriggerData(object, method, annotation)); // Put trigger in list
+            }
+        }
+        return triggers;
+    }
+
+    /**
+     * Unregister a trigger class.
+     *
+     * @param object The initialized object where to unregister all trigger methods.
+     */
+    default void unregisterTriggerClass(CommandHandler object) {
+        this.getTriggerRegistry().unregister(trigger -> trigger.getInstance() == object); // Remove all methods of the instance
+    }
+
+    /**
+     * @return Returns an immutable list with all registered triggers.
+     */
+    default List<TriggerData> getTriggers() {
+        return this.getTriggerRegistry().getTriggers();
+    }
+
+    /**
+     * Runs once a message received.
+     *
+     * @param event The MessageReceivedEvent.
+     * @throws Exception Any exceptions will be thrown to the {@link CommandListener}.
+     */
+    void processTriggerExecution(MessageReceivedEvent event) throws Exception;
+}
@@ -0,0 +1,170 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.Permission;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Marian
+ * <p>
+ * A bounded cache for permission decisions.
+ * Each decision is stored for a guild id, a member id and a {@link Permission} class.
+ * The cache has a fixed amount of slots, so a new decision simply replaces an older one which landed in the same slot.
+ * <p>
+ * Decisions get invalidated by the {@link com.github.m5rian.jdaCommandHandler.CommandListener},
+ * once roles or permissions change.
+ * <p>
+ * Invalidations don't touch the stored decisions. Every guild and every member has an epoch, which increases on each invalidation.
+ * A decision remembers the epochs it was computed in and is ignored once one of them changed.
+ * The epochs are hashed into a fixed amount of slots too, so guilds or members sharing a slot only get invalidated a bit more often.
+ */
+public class PermissionCache {
+    private static final int GUILD_EPOCHS = 4096; // Amount of slots for the epochs of guilds
+
+    private final AtomicReferenceArray<Entry> entries; // All cached decisions
+    private final int mask; // Mask to get a slot out of a hash
+    private final AtomicLongArray guildEpochs = new AtomicLongArray(GUILD_EPOCHS); // Increases once decisions of a guild get invalidated
+    private final AtomicLongArray memberEpochs; // Increases once decisions of a member get invalidated
+    private final AtomicLong generation = new AtomicLong(); // Increases once all decisions get invalidated
+    private final LongAdder hits = new LongAdder(); // Amount of cache hits
+    private final LongAdder misses = new LongAdder(); // Amount of cache misses
+
+    /**
+     * @param maxSize The maximum amount of decisions to store. This gets rounded up to the next power of two.
+     */
+    public PermissionCache(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("The size of the permission cache must be positive");
+
+        final int capacity = Integer.highestOneBit(Math.min(maxSize, 1 << 30) - 1 | 1) << 1; // Round up to the next power of two
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.memberEpochs = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @param guildId    The id of the guild.
+     * @param memberId   The id of the member.
+     * @param permission The class of the {@link Permission}.
+     * @return Returns the cached decision or null if there is none.
+     */
+    @Nullable
+    public Boolean get(long guildId, long memberId, Class<? extends Permission> permission) {
+        final Entry entry = this.entries.get(slot(guildId, memberId, permission));
+        // Decision is cached and still valid
+        if (entry != null && entry.guildId == guildId && entry.memberId == memberId && entry.permission == permission && entry.generation == getGeneration(guildId, memberId)) {
+            this.hits.increment();
+            return entry.allowed;
+        }
+
+        this.misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a decision.
+     * If the decisions of the member got invalidated since {@code generation} was retrieved, the decision is never returned.
+     *
+     * @param guildId    The id of the guild.
+     * @param memberId   The id of the member.
+     * @param permission The class of the {@link Permission}.
+     * @param allowed    Is the member allowed to use the permission?
+     * @param generation The value of {@link PermissionCache#getGeneration(long, long)} before the decision was computed.
+     */
+    public void put(long guildId, long memberId, Class<? extends Permission> permission, boolean allowed, long generation) {
+        if (getGeneration(guildId, memberId) != generation) return; // Decision is outdated already
+        this.entries.set(slot(guildId, memberId, permission), new Entry(guildId, memberId, permission, allowed, generation));
+    }
+
+    /**
+     * The generation of a member changes once its decisions get invalidated.
+     * It's the sum of the epochs of the member and its guild and the generation of the whole cache, which all only increase.
+     *
+     * @param guildId  The id of the guild.
+     * @param memberId The id of the member.
+     * @return Returns the current generation of the member. Pass this value to {@link PermissionCache#put(long, long, Class, boolean, long)}.
+     */
+    public long getGeneration(long guildId, long memberId) {
+        return this.generation.get() + this.guildEpochs.get(guildSlot(guildId)) + this.memberEpochs.get(memberSlot(guildId, memberId));
+    }
+
+    /**
+     * Invalidates all decisions of a member.
+     *
+     * @param guildId  The id of the guild.
+     * @param memberId The id of the member.
+     */
+    public void invalidateMember(long guildId, long memberId) {
+        this.memberEpochs.incrementAndGet(memberSlot(guildId, memberId));
+    }
+
+    /**
+     * Invalidates all decisions of a guild.
+     *
+     * @param guildId The id of the guild.
+     */
+    public void invalidateGuild(long guildId) {
+        this.guildEpochs.incrementAndGet(guildSlot(guildId));
+    }
+
+    /**
+     * Invalidates all decisions.
+     */
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+    }
+
+    /**
+     * @return Returns the maximum amount of decisions which can be stored.
+     */
+    public int getCapacity() {
+        return this.entries.length();
+    }
+
+    /**
+     * @return Returns how often a decision was found in the cache.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return Returns how often a decision wasn't found in the cache.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return Returns the ratio of hits to all lookups. If there weren't any lookups yet, this returns 0.
+     */
+    public double getHitRate() {
+        final long hits = this.hits.sum();
+        final long lookups = hits + this.misses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private int slot(long guildId, long memberId, Class<?> permission) {
+        long hash = guildId * 0x9E3779B97F4A7C15L ^ memberId * 0xC2B2AE3D27D4EB4FL ^ permission.hashCode();
+        hash ^= hash >>> 31;
+        return (int) hash & this.mask;
+    }
+
+    private int memberSlot(long guildId, long memberId) {
+        long hash = guildId * 0x9E3779B97F4A7C15L ^ memberId * 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 31;
+        return (int) hash & this.mask;
+    }
+
+    private static int guildSlot(long guildId) {
+        long hash = guildId * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) hash & GUILD_EPOCHS - 1;
+    }
+
+    private record Entry(long guildId, long memberId, Class<? extends Permission> permission, boolean allowed, long generation) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.Permission;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores all registered {@link Permission}s of one command service.
+ * The permissions are kept in an immutable map, which gets replaced as a whole on every change.
+ */
+public class PermissionRegistry {
+    private final AtomicReference<Map<Class<? extends Permission>, Permission>> permissions = new AtomicReference<>(Map.of());
+
+    /**
+     * @param permission The permission to register.
+     */
+    public void register(Permission permission) {
+        this.permissions.updateAndGet(permissions -> {
+            final Map<Class<? extends Permission>, Permission> updated = new HashMap<>(permissions);
+            updated.put(permission.getClass(), permission);
+            return Map.copyOf(updated);
+        });
+    }
+
+    /**
+     * @param permission The class of the permission to unregister.
+     */
+    public void unregister(Class<? extends Permission> permission) {
+        this.permissions.updateAndGet(permissions -> {
+            final Map<Class<? extends Permission>, Permission> updated = new HashMap<>(permissions);
+            updated.remove(permission);
+            return Map.copyOf(updated);
+        });
+    }
+
+    /**
+     * Unregisters all permissions.
+     */
+    public void clear() {
+        this.permissions.set(Map.of());
+    }
+
+    /**
+     * @param permission The class of the permission.
+     * @return Returns the registered permission or null if it isn't registered.
+     */
+    @Nullable
+    public Permission get(Class<? extends Permission> permission) {
+        return this.permissions.get().get(permission);
+    }
+
+    /**
+     * @return Returns an immutable map of all registered permissions.
+     */
+    public Map<Class<? extends Permission>, Permission> getPermissions() {
+        return this.permissions.get();
+    }
+}
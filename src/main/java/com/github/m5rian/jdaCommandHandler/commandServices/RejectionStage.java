@@ -0,0 +1,38 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+/**
+ * @author Marian
+ * <p>
+ * The stages in which the {@link DefaultCommandService} rejects messages, which aren't commands.
+ * The stages are listed in the order they're checked, cheap checks come first.
+ */
+public enum RejectionStage {
+    /**
+     * The message was sent by a bot, a webhook or the system.
+     */
+    AUTHOR,
+    /**
+     * The first character of the message can't be the start of a prefix or of the mention of the bot.
+     */
+    FIRST_CHARACTER,
+    /**
+     * The message doesn't start with the prefix or the mention of the bot.
+     */
+    PREFIX,
+    /**
+     * The user, guild or channel is on the blacklist.
+     */
+    BLACKLIST,
+    /**
+     * No command is registered for the first word of the message.
+     */
+    UNKNOWN_COMMAND,
+    /**
+     * The bot can't write in the channel.
+     */
+    SELF_PERMISSION,
+    /**
+     * The message was already processed, for example because the gateway replayed it.
+     */
+    DUPLICATE
+}
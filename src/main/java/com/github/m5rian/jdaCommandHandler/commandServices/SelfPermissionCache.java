@@ -0,0 +1,69 @@
+package com.github.m5rian.jdaCommandHandler.commandServices;
+
+import com.github.m5rian.jdaCommandHandler.utils.LongHashSet;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.GuildChannel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Marian
+ * <p>
+ * Caches per channel if the bot can write messages in it.
+ * Computing {@link Permission#MESSAGE_WRITE} of the bot's own member goes through all roles and overrides,
+ * while the result only changes with overrides, the bot's roles or the permissions of these roles.
+ * <p>
+ * Decisions get invalidated by the {@link com.github.m5rian.jdaCommandHandler.CommandListener}.
+ */
+public class SelfPermissionCache {
+    private final LongHashSet allowed = new LongHashSet(); // Channels in which the bot can write
+    private final LongHashSet denied = new LongHashSet(); // Channels in which the bot can't write
+    private final AtomicLong generation = new AtomicLong(); // Increases on every invalidation
+
+    /**
+     * @param channel The channel to check.
+     * @return Returns if the bot can write in the channel. The decision is computed once and then cached.
+     */
+    public boolean canWrite(GuildChannel channel) {
+        final long channelId = channel.getIdLong();
+        if (this.allowed.contains(channelId)) return true;
+        if (this.denied.contains(channelId)) return false;
+
+        final long generation = this.generation.get();
+        final boolean canWrite = channel.getGuild().getSelfMember().hasPermission(channel, Permission.MESSAGE_WRITE); // Compute decision
+        (canWrite ? this.allowed : this.denied).add(channelId);
+        // Cache got invalidated while computing the decision
+        if (this.generation.get() != generation) {
+            this.allowed.remove(channelId);
+            this.denied.remove(channelId);
+        }
+        return canWrite;
+    }
+
+    /**
+     * Removes the decision of a channel.
+     *
+     * @param channelId The id of the channel.
+     */
+    public void invalidateChannel(long channelId) {
+        this.generation.incrementAndGet();
+        this.allowed.remove(channelId);
+        this.denied.remove(channelId);
+    }
+
+    /**
+     * Removes all decisions.
+     */
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.allowed.clear();
+        this.denied.clear();
+    }
+
+    /**
+     * @return Returns the amount of cached decisions.
+     */
+    public int size() {
+        return this.allowed.size() + this.denied.size();
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.m5rian.jdaCommandHandler.component;
+
+import com.github.m5rian.jdaCommandHandler.commandServices.IComponentService;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.events.interaction.GenericComponentInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.SelectionMenuEvent;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.UpdateInteractionAction;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Marian
+ * <p>
+ * This class contains all information about a used component.
+ */
+public class ComponentContext {
+    private final GenericComponentInteractionCreateEvent event; // The actual event
+    private final ComponentData componentData; // Data of the component handler
+    private final ComponentId id; // The parsed custom id
+    private final IComponentService componentService; // Used component service
+
+    /**
+     * @param event            The ButtonClickEvent or SelectionMenuEvent.
+     * @param componentData    Data of the fired {@link ComponentEvent}.
+     * @param componentService The used component service.
+     */
+    public ComponentContext(GenericComponentInteractionCreateEvent event, ComponentData componentData, IComponentService componentService) {
+        this.event = event;
+        this.componentData = componentData;
+        this.id = ComponentId.parse(event.getComponentId());
+        this.componentService = componentService;
+    }
+
+    public ReplyAction reply(String content) {
+        return this.event.reply(content);
+    }
+
+    public UpdateInteractionAction editMessage(String content) {
+        return this.event.editMessage(content);
+    }
+
+    public UpdateInteractionAction deferEdit() {
+        return this.event.deferEdit();
+    }
+
+    /**
+     * @return Returns the ButtonClickEvent or SelectionMenuEvent.
+     */
+    public GenericComponentInteractionCreateEvent getEvent() {
+        return this.event;
+    }
+
+    /**
+     * @return Returns the parsed custom id of the component, which holds the state of the component.
+     */
+    public ComponentId getId() {
+        return this.id;
+    }
+
+    /**
+     * @return Returns the selected values of a selection menu or an empty list for buttons.
+     */
+    public List<String> getValues() {
+        return this.event instanceof SelectionMenuEvent menu ? menu.getValues() : Collections.emptyList();
+    }
+
+    /**
+     * @return Returns the {@link JDA}.
+     */
+    public JDA getBot() {
+        return this.event.getJDA();
+    }
+
+    /**
+     * @return Returns the message of the component.
+     */
+    public Message getMessage() {
+        return this.event.getMessage();
+    }
+
+    /**
+     * @return Returns the Guild. If the component was used in a direct message this method will return Null.
+     */
+    @Nullable
+    public Guild getGuild() {
+        return this.event.getGuild();
+    }
+
+    /**
+     * @return Returns the channel, in which the component was used.
+     */
+    public MessageChannel getChannel() {
+        return this.event.getChannel();
+    }
+
+    /**
+     * @return Returns the user who used the component.
+     */
+    public User getUser() {
+        return this.event.getUser();
+    }
+
+    /**
+     * @return Returns the user who used the component as a {@link Member}.
+     */
+    public Member getMember() {
+        return this.event.getMember();
+    }
+
+    /**
+     * @return Returns the {@link ComponentEvent} of the invoked method.
+     */
+    public ComponentEvent getComponent() {
+        return this.componentData.getComponent();
+    }
+
+    /**
+     * @return Returns the used {@link IComponentService}.
+     */
+    public IComponentService getComponentService() {
+        return this.componentService;
+    }
+}
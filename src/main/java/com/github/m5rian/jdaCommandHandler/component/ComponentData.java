@@ -0,0 +1,74 @@
+package com.github.m5rian.jdaCommandHandler.component;
+
+import com.github.m5rian.jdaCommandHandler.CommandHandler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Marian
+ * <p>
+ * This class stores all information about a registered component handler.
+ */
+public class ComponentData {
+    private final Method method; // The actual method, which runs when a component is used
+    private final CommandHandler instance; // An instance of the class
+    private final ComponentEvent component; // The ComponentEvent annotation
+    private final AtomicInteger runningInvocations = new AtomicInteger(); // Invocations which haven't finished yet
+
+    /**
+     * @param instance  The instance of the class, which is used to {@link Method#invoke(Object, Object...)} the component method.
+     * @param method    The method we want to run, once a component is used.
+     * @param component A {@link ComponentEvent} annotation which stores all information about a component handler.
+     */
+    public ComponentData(CommandHandler instance, Method method, ComponentEvent component) {
+        if (component.value().isEmpty() || component.value().indexOf(ComponentId.SEPARATOR) != -1)
+            throw new IllegalArgumentException("A component prefix must not be empty or contain '" + ComponentId.SEPARATOR + "'");
+
+        this.instance = instance;
+        this.method = method;
+        this.component = component;
+    }
+
+    /**
+     * @return Returns an instance of the component class.
+     */
+    public CommandHandler getInstance() {
+        return this.instance;
+    }
+
+    /**
+     * @return Returns the component method.
+     */
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * @return Returns the {@link ComponentEvent} annotation.
+     */
+    public ComponentEvent getComponent() {
+        return this.component;
+    }
+
+    /**
+     * Marks the start of an invocation of the component method. Queued invocations are marked as well, so their module stays loaded.
+     */
+    public void invocationStarted() {
+        this.runningInvocations.incrementAndGet();
+    }
+
+    /**
+     * Marks the end of an invocation of the component method.
+     */
+    public void invocationFinished() {
+        this.runningInvocations.decrementAndGet();
+    }
+
+    /**
+     * @return Returns the amount of queued and running invocations of the component method. An invocation counts twice while its queued task still runs.
+     */
+    public int getRunningInvocations() {
+        return this.runningInvocations.get();
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.m5rian.jdaCommandHandler.component;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks a method as a component handler. A component handler runs once a button or selection menu is used,
+ * whose custom id starts with the prefix of the handler.
+ * <p>
+ * Because the state of a component is stored in its custom id, see {@link ComponentId},
+ * components still work after a restart and don't need an {@link com.github.m5rian.jdaCommandHandler.EventWaiter}.
+ */
+@Retention(RetentionPolicy.RUNTIME) // Keep annotation at runtime
+@Target(ElementType.METHOD) // Only addable for methods
+public @interface ComponentEvent {
+    /**
+     * Retrieves the prefix of the custom ids, which the handler is responsible for.
+     * The prefix is the part of the custom id before the first {@link ComponentId#SEPARATOR}.
+     *
+     * @return The prefix.
+     */
+    String value();
+}
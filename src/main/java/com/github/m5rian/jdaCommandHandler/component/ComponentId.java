@@ -0,0 +1,170 @@
+package com.github.m5rian.jdaCommandHandler.component;
+
+import java.util.Arrays;
+
+/**
+ * @author Marian
+ * <p>
+ * A custom id of a component, which carries the state of the component.
+ * A custom id consists of the prefix of its {@link ComponentEvent} handler and any amount of values, all separated by {@link #SEPARATOR}.
+ * <p>
+ * Numbers are written in base 36, so a snowflake id takes at most 13 characters instead of 19.
+ * Discord limits custom ids to {@link #MAX_LENGTH} characters.
+ * <pre>{@code
+ * String id = ComponentId.builder("vote").add(pollId).add("yes").build(); // "vote:6h9pmc8z00cr:yes"
+ * // In the handler
+ * long pollId = ctx.getId().getLong(0);
+ * String answer = ctx.getId().getString(1);
+ * }</pre>
+ */
+public class ComponentId {
+    public static final char SEPARATOR = ':';
+    public static final int MAX_LENGTH = 100;
+
+    private final String customId; // The whole custom id
+    private final int[] starts; // Start index of each value
+
+    private ComponentId(String customId, int[] starts) {
+        this.customId = customId;
+        this.starts = starts;
+    }
+
+    /**
+     * @param prefix The prefix of the {@link ComponentEvent} handler.
+     * @return Returns a {@link Builder} to create a custom id.
+     */
+    public static Builder builder(String prefix) {
+        return new Builder(prefix);
+    }
+
+    /**
+     * @param customId A custom id of a component.
+     * @return Returns the parsed custom id.
+     */
+    public static ComponentId parse(String customId) {
+        int[] starts = new int[4];
+        int size = 0;
+        for (int i = customId.indexOf(SEPARATOR); i != -1; i = customId.indexOf(SEPARATOR, i + 1)) {
+            if (size == starts.length) starts = Arrays.copyOf(starts, size * 2);
+            starts[size++] = i + 1;
+        }
+        return new ComponentId(customId, Arrays.copyOf(starts, size));
+    }
+
+    /**
+     * @return Returns the prefix of the {@link ComponentEvent} handler.
+     */
+    public String getPrefix() {
+        return this.customId.substring(0, end(-1));
+    }
+
+    /**
+     * @return Returns the amount of values.
+     */
+    public int size() {
+        return this.starts.length;
+    }
+
+    /**
+     * @param index The index of the value.
+     * @return Returns the value as a String.
+     */
+    public String getString(int index) {
+        return this.customId.substring(this.starts[index], end(index));
+    }
+
+    /**
+     * @param index The index of the value.
+     * @return Returns the value as a long.
+     */
+    public long getLong(int index) {
+        return Long.parseLong(this.customId, this.starts[index], end(index), Character.MAX_RADIX);
+    }
+
+    /**
+     * @param index The index of the value.
+     * @return Returns the value as an int.
+     */
+    public int getInt(int index) {
+        return Integer.parseInt(this.customId, this.starts[index], end(index), Character.MAX_RADIX);
+    }
+
+    /**
+     * @param index The index of the value.
+     * @return Returns the value as a boolean.
+     */
+    public boolean getBoolean(int index) {
+        return this.customId.charAt(this.starts[index]) == '1';
+    }
+
+    /**
+     * @return Returns the whole custom id.
+     */
+    @Override
+    public String toString() {
+        return this.customId;
+    }
+
+    /**
+     * @param index The index of a value or -1 for the prefix.
+     * @return Returns the end index of the value.
+     */
+    private int end(int index) {
+        return index + 1 < this.starts.length ? this.starts[index + 1] - 1 : this.customId.length();
+    }
+
+    /**
+     * Creates custom ids.
+     */
+    public static class Builder {
+        private final StringBuilder customId;
+
+        private Builder(String prefix) {
+            this.customId = new StringBuilder(prefix.length() + 16);
+            this.add(prefix, true);
+        }
+
+        /**
+         * @param value A number.
+         * @return Returns {@link Builder} for chaining purpose.
+         */
+        public Builder add(long value) {
+            this.customId.append(SEPARATOR).append(Long.toString(value, Character.MAX_RADIX));
+            return this;
+        }
+
+        /**
+         * @param value A boolean.
+         * @return Returns {@link Builder} for chaining purpose.
+         */
+        public Builder add(boolean value) {
+            this.customId.append(SEPARATOR).append(value ? '1' : '0');
+            return this;
+        }
+
+        /**
+         * @param value A String, which must not contain {@link #SEPARATOR}.
+         * @return Returns {@link Builder} for chaining purpose.
+         */
+        public Builder add(String value) {
+            return this.add(value, false);
+        }
+
+        /**
+         * @return Returns the custom id.
+         * @throws IllegalStateException If the custom id is longer than {@link #MAX_LENGTH}.
+         */
+        public String build() {
+            if (this.customId.length() > MAX_LENGTH)
+                throw new IllegalStateException("A custom id can't be longer than " + MAX_LENGTH + " characters: " + this.customId);
+            return this.customId.toString();
+        }
+
+        private Builder add(String value, boolean prefix) {
+            if (value.indexOf(SEPARATOR) != -1) throw new IllegalArgumentException("A value must not contain '" + SEPARATOR + "'");
+            if (!prefix) this.customId.append(SEPARATOR);
+            this.customId.append(value);
+            return this;
+        }
+    }
+}
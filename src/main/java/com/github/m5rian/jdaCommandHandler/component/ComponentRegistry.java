@@ -0,0 +1,137 @@
+package com.github.m5rian.jdaCommandHandler.component;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores all registered component handlers of one command service.
+ * <p>
+ * Handlers are found by the prefix of a custom id in an open addressing hash table.
+ * The hash of the prefix is computed while searching for its end, so a lookup neither splits nor copies the custom id.
+ * Like the other registries, the table is an immutable snapshot which gets replaced as a whole on every change.
+ */
+public class ComponentRegistry {
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Registers component handlers.
+     *
+     * @param components The component handlers to register.
+     */
+    public void register(Collection<ComponentData> components) {
+        update(component -> false, components);
+    }
+
+    /**
+     * Unregisters all component handlers which match the filter.
+     *
+     * @param filter A filter which returns true for component handlers to unregister.
+     */
+    public void unregister(Predicate<ComponentData> filter) {
+        update(filter, Collections.emptyList());
+    }
+
+    /**
+     * Unregisters and registers component handlers in a single step.
+     *
+     * @param filter     A filter which returns true for component handlers to unregister.
+     * @param components The component handlers to register.
+     */
+    public void replace(Predicate<ComponentData> filter, Collection<ComponentData> components) {
+        update(filter, components);
+    }
+
+    /**
+     * Unregisters all component handlers.
+     */
+    public void clear() {
+        this.snapshot.set(Snapshot.EMPTY);
+    }
+
+    /**
+     * @return Returns an immutable list of all registered component handlers.
+     */
+    public List<ComponentData> getComponents() {
+        return this.snapshot.get().components;
+    }
+
+    /**
+     * @param customId The custom id of a component.
+     * @return Returns the first registered component handler for the prefix of the custom id or null if there is none.
+     */
+    @Nullable
+    public ComponentData find(String customId) {
+        return this.snapshot.get().find(customId);
+    }
+
+    private void update(Predicate<ComponentData> filter, Collection<ComponentData> added) {
+        final List<ComponentData> addedComponents = List.copyOf(added);
+        this.snapshot.updateAndGet(snapshot -> {
+            final List<ComponentData> components = new ArrayList<>(snapshot.components.size() + addedComponents.size());
+            for (ComponentData component : snapshot.components) {
+                if (!filter.test(component)) components.add(component);
+            }
+            components.addAll(addedComponents);
+            return new Snapshot(components);
+        });
+    }
+
+    /**
+     * An immutable state of the registry.
+     */
+    private static class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+        private final List<ComponentData> components; // All component handlers in the order they were registered
+        private final String[] prefixes; // Hash table of prefixes, null for empty slots
+        private final ComponentData[] handlers; // Component handler of the prefix in the same slot
+        private final int mask; // Mask to get a slot out of a hash
+
+        private Snapshot(List<ComponentData> components) {
+            this.components = List.copyOf(components);
+
+            final int capacity = Integer.highestOneBit(Math.max(2, this.components.size() * 2) - 1) << 1; // At most half full
+            this.prefixes = new String[capacity];
+            this.handlers = new ComponentData[capacity];
+            this.mask = capacity - 1;
+            for (ComponentData component : this.components) {
+                final String prefix = component.getComponent().value();
+                int slot = spread(prefix.hashCode()) & this.mask;
+                while (this.prefixes[slot] != null && !this.prefixes[slot].equals(prefix)) slot = (slot + 1) & this.mask;
+                if (this.prefixes[slot] != null) continue; // First registered handler wins
+
+                this.prefixes[slot] = prefix;
+                this.handlers[slot] = component;
+            }
+        }
+
+        @Nullable
+        private ComponentData find(String customId) {
+            // Compute the hash of the prefix like String#hashCode does
+            int hash = 0;
+            int end = 0;
+            while (end < customId.length()) {
+                final char character = customId.charAt(end);
+                if (character == ComponentId.SEPARATOR) break;
+                hash = 31 * hash + character;
+                end++;
+            }
+
+            int slot = spread(hash) & this.mask;
+            String prefix;
+            while ((prefix = this.prefixes[slot]) != null) {
+                if (prefix.length() == end && customId.regionMatches(0, prefix, 0, end)) return this.handlers[slot];
+                slot = (slot + 1) & this.mask;
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
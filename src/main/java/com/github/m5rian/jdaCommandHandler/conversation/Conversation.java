@@ -0,0 +1,181 @@
+package com.github.m5rian.jdaCommandHandler.conversation;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * @author Marian
+ * <p>
+ * A conversation is a flow of steps, like a setup wizard. Each step handles one message of the user and returns the next step.
+ * Instead of nesting event waiters, the steps are declared once and every user gets a small {@link Session} with the state of the flow.
+ * <pre>{@code
+ * Conversation<Setup> setup = Conversation.builder("setup", Setup::new)
+ *         .step("name", ctx -> {
+ *             ctx.getState().name = ctx.getContent();
+ *             ctx.reply("Which channel?").queue();
+ *             return "channel";
+ *         })
+ *         .step("channel", ctx -> {
+ *             ctx.getState().channel = ctx.getContent();
+ *             ctx.reply("Done!").queue();
+ *             return null; // End of the conversation
+ *         })
+ *         .build();
+ * }</pre>
+ *
+ * @param <S> The type of the state.
+ */
+public class Conversation<S extends Serializable> {
+    private final String name; // Name of the conversation
+    private final Supplier<S> state; // Creates the initial state
+    private final String firstStep; // Name of the first step
+    private final Map<String, Step<S>> steps; // Name of a step to the step
+    private final Duration timeout; // Time after which an idle session expires
+    private final Consumer<Session<S>> expireAction; // Runs once a session expired
+
+    private Conversation(Builder<S> builder) {
+        this.name = builder.name;
+        this.state = builder.state;
+        this.firstStep = builder.steps.keySet().iterator().next();
+        this.steps = Collections.unmodifiableMap(new LinkedHashMap<>(builder.steps));
+        this.timeout = builder.timeout;
+        this.expireAction = builder.expireAction;
+    }
+
+    /**
+     * @param name  The unique name of the conversation.
+     * @param state A {@link Supplier} which creates the initial state of a session.
+     * @param <S>   The type of the state.
+     * @return Returns a {@link Builder} to declare the steps.
+     */
+    public static <S extends Serializable> Builder<S> builder(String name, Supplier<S> state) {
+        return new Builder<>(name, state);
+    }
+
+    /**
+     * @return Returns the name of the conversation.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return Returns the name of the first step.
+     */
+    public String getFirstStep() {
+        return this.firstStep;
+    }
+
+    /**
+     * @param name The name of a step.
+     * @return Returns the step or null if there is no step with the name.
+     */
+    @Nullable
+    public Step<S> getStep(String name) {
+        return this.steps.get(name);
+    }
+
+    /**
+     * @return Returns the time after which an idle session expires.
+     */
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * @return Returns a new initial state.
+     */
+    S createState() {
+        return this.state.get();
+    }
+
+    /**
+     * Runs the expire action of the conversation.
+     *
+     * @param session The expired session.
+     */
+    @SuppressWarnings("unchecked")
+    void expire(Session<?> session) {
+        if (this.expireAction != null) this.expireAction.accept((Session<S>) session);
+    }
+
+    /**
+     * A step of a conversation.
+     *
+     * @param <S> The type of the state.
+     */
+    @FunctionalInterface
+    public interface Step<S extends Serializable> {
+        /**
+         * Handles a message of the user.
+         *
+         * @param ctx The {@link ConversationContext} of the message.
+         * @return Returns the name of the next step, the name of the current step to repeat it or null to end the conversation.
+         * @throws Exception Any exception ends the conversation.
+         */
+        @Nullable
+        String handle(ConversationContext<S> ctx) throws Exception;
+    }
+
+    /**
+     * The builder for {@link Conversation}.
+     *
+     * @param <S> The type of the state.
+     */
+    public static class Builder<S extends Serializable> {
+        private final String name;
+        private final Supplier<S> state;
+        private final Map<String, Step<S>> steps = new LinkedHashMap<>();
+        private Duration timeout = Duration.ofMinutes(5);
+        private Consumer<Session<S>> expireAction;
+
+        private Builder(String name, Supplier<S> state) {
+            this.name = name;
+            this.state = state;
+        }
+
+        /**
+         * Declares a step. The first declared step is the first step of the conversation.
+         *
+         * @param name The name of the step.
+         * @param step The step.
+         * @return Returns {@link Builder} for chaining purpose.
+         */
+        public Builder<S> step(String name, Step<S> step) {
+            if (this.steps.putIfAbsent(name, step) != null) throw new IllegalArgumentException("The step " + name + " is already declared");
+            return this;
+        }
+
+        /**
+         * @param timeout The time after which an idle session expires. By default this is 5 minutes.
+         * @return Returns {@link Builder} for chaining purpose.
+         */
+        public Builder<S> setTimeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param expireAction A {@link Consumer} which runs once a session expired.
+         * @return Returns {@link Builder} for chaining purpose.
+         */
+        public Builder<S> setExpireAction(Consumer<Session<S>> expireAction) {
+            this.expireAction = expireAction;
+            return this;
+        }
+
+        /**
+         * @return Returns a finished {@link Conversation}.
+         */
+        public Conversation<S> build() {
+            if (this.steps.isEmpty()) throw new IllegalStateException("A conversation needs at least one step");
+            return new Conversation<>(this);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.m5rian.jdaCommandHandler.conversation;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * @author Marian
+ * <p>
+ * This class contains all information about a message, which a {@link Conversation.Step} handles.
+ *
+ * @param <S> The type of the state.
+ */
+public class ConversationContext<S extends Serializable> {
+    private final MessageReceivedEvent event; // The actual event
+    private final Session<S> session; // The session of the user
+
+    /**
+     * @param event   The MessageReceivedEvent.
+     * @param session The session of the user.
+     */
+    public ConversationContext(MessageReceivedEvent event, Session<S> session) {
+        this.event = event;
+        this.session = session;
+    }
+
+    public MessageAction reply(String content) {
+        return this.event.getChannel().sendMessage(content);
+    }
+
+    public MessageAction reply(MessageEmbed embed) {
+        return this.event.getChannel().sendMessage(embed);
+    }
+
+    /**
+     * @return Returns the state of the conversation.
+     */
+    public S getState() {
+        return this.session.getState();
+    }
+
+    /**
+     * @return Returns the {@link Session} of the user.
+     */
+    public Session<S> getSession() {
+        return this.session;
+    }
+
+    /**
+     * @return Returns the raw content of the message.
+     */
+    public String getContent() {
+        return this.event.getMessage().getContentRaw();
+    }
+
+    /**
+     * @return Returns MessageReceivedEvent.
+     */
+    public MessageReceivedEvent getEvent() {
+        return this.event;
+    }
+
+    /**
+     * @return Returns the {@link JDA}.
+     */
+    public JDA getBot() {
+        return this.event.getJDA();
+    }
+
+    /**
+     * @return Returns the message of the user.
+     */
+    public Message getMessage() {
+        return this.event.getMessage();
+    }
+
+    /**
+     * @return Returns the Guild. If the conversation is in a direct message this method will return Null.
+     */
+    @Nullable
+    public Guild getGuild() {
+        return this.event.isFromGuild() ? this.event.getGuild() : null;
+    }
+
+    /**
+     * @return Returns the channel of the conversation.
+     */
+    public MessageChannel getChannel() {
+        return this.event.getChannel();
+    }
+
+    /**
+     * @return Returns the author as a {@link User}.
+     */
+    public User getAuthor() {
+        return this.event.getAuthor();
+    }
+
+    /**
+     * @return Return the author as a {@link Member}.
+     */
+    public Member getMember() {
+        return this.event.getMember();
+    }
+}
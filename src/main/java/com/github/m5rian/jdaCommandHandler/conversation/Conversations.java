@@ -0,0 +1,191 @@
+package com.github.m5rian.jdaCommandHandler.conversation;
+
+import com.github.m5rian.jdaCommandHandler.EventWaiter;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Marian
+ * <p>
+ * Runs the {@link Conversation}s of all users.
+ * <p>
+ * All sessions share a single event waiter, which routes a message to the session of its author in its channel.
+ * Idle sessions expire on a single shared timer, so a session doesn't need a scheduled task of its own.
+ */
+public class Conversations {
+    private static final long SWEEP_INTERVAL = 1; // Seconds between two checks for expired sessions
+
+    private final SessionStore store; // Stores all sessions
+    private final Map<String, Conversation<?>> conversations = new ConcurrentHashMap<>(); // Name of a conversation to the conversation
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "Conversation-Timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param waiter The event waiter to receive messages from.
+     * @param store  The {@link SessionStore} to store sessions in.
+     */
+    public Conversations(EventWaiter waiter, SessionStore store) {
+        this.store = store;
+        waiter.waitForEvent(MessageReceivedEvent.class)
+                .setCondition(event -> this.store.size() != 0 && !event.getAuthor().isBot())
+                .setAction(this::onMessage)
+                .remainsOnAction()
+                .load();
+        this.timer.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL, SWEEP_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Registers a conversation. Conversations are registered on their first start too,
+     * but sessions which were stored before a restart only continue once their conversation is registered.
+     *
+     * @param conversation The conversation.
+     */
+    public void register(Conversation<?> conversation) {
+        this.conversations.put(conversation.getName(), conversation);
+    }
+
+    /**
+     * Starts a conversation with the author of a message. A running session of the author in the channel gets replaced.
+     * The message itself isn't handled by the first step.
+     *
+     * @param conversation The conversation.
+     * @param message      The message which starts the conversation.
+     * @param <S>          The type of the state.
+     * @return Returns the new session.
+     */
+    public <S extends Serializable> Session<S> start(Conversation<S> conversation, Message message) {
+        return start(conversation, message.getChannel().getIdLong(), message.getAuthor().getIdLong(), message.getIdLong());
+    }
+
+    /**
+     * Starts a conversation with a user in a channel. A running session of the user in the channel gets replaced.
+     *
+     * @param conversation The conversation.
+     * @param channelId    The id of the channel.
+     * @param userId       The id of the user.
+     * @param <S>          The type of the state.
+     * @return Returns the new session.
+     */
+    public <S extends Serializable> Session<S> start(Conversation<S> conversation, long channelId, long userId) {
+        return start(conversation, channelId, userId, 0);
+    }
+
+    private <S extends Serializable> Session<S> start(Conversation<S> conversation, long channelId, long userId, long startMessageId) {
+        this.conversations.putIfAbsent(conversation.getName(), conversation);
+        final Session<S> session = new Session<>(channelId, userId, startMessageId, conversation.getName(),
+                conversation.getFirstStep(), conversation.createState(), conversation.getTimeout().toMillis());
+        this.store.put(session);
+        return session;
+    }
+
+    /**
+     * Ends a session without running the expire action.
+     *
+     * @param channelId The id of the channel.
+     * @param userId    The id of the user.
+     * @return Returns if there was a session.
+     */
+    public boolean cancel(long channelId, long userId) {
+        return this.store.remove(channelId, userId) != null;
+    }
+
+    /**
+     * @param channelId The id of the channel.
+     * @param userId    The id of the user.
+     * @return Returns the session of the user in the channel or null if there is none.
+     */
+    @Nullable
+    public Session<?> getSession(long channelId, long userId) {
+        return this.store.get(channelId, userId);
+    }
+
+    /**
+     * @return Returns the amount of running sessions.
+     */
+    public int getSessionCount() {
+        return this.store.size();
+    }
+
+    /**
+     * @return Returns the estimated amount of bytes, which the sessions in memory take.
+     */
+    public long getFootprint() {
+        return this.store.getFootprint();
+    }
+
+    /**
+     * @return Returns the used {@link SessionStore}.
+     */
+    public SessionStore getStore() {
+        return this.store;
+    }
+
+    /**
+     * Stops the timer. Sessions don't expire anymore afterwards.
+     */
+    public void shutdown() {
+        this.timer.shutdown();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void onMessage(MessageReceivedEvent event) {
+        final long channelId = event.getChannel().getIdLong();
+        final long userId = event.getAuthor().getIdLong();
+        Session session = this.store.get(channelId, userId);
+        if (session == null) return; // User isn't in a conversation
+        if (event.getMessageIdLong() <= session.getStartMessageId()) return; // Message started the conversation
+
+        final Conversation<?> conversation = this.conversations.get(session.getConversation());
+        if (conversation == null) return; // Conversation isn't registered yet
+
+        // The session object changes if the session got spilled and loaded again meanwhile
+        while (true) {
+            synchronized (session) {
+                final Session current = this.store.get(channelId, userId);
+                if (current != session) {
+                    if (current == null || current.getStartMessageId() != session.getStartMessageId()) return; // Session ended or got replaced meanwhile
+                    session = current; // Lock the loaded session instead
+                    continue;
+                }
+
+                final Conversation.Step step = conversation.getStep(session.getStep());
+                String next = null;
+                try {
+                    if (step != null) next = step.handle(new ConversationContext<>(event, session));
+                } catch (Exception e) {
+                    e.printStackTrace(); // End the conversation
+                }
+
+                if (next == null) {
+                    this.store.remove(channelId, userId); // Conversation ended
+                } else {
+                    session.advance(next);
+                    this.store.put(session); // Save changed state
+                }
+                return;
+            }
+        }
+    }
+
+    private void sweep() {
+        try {
+            for (Session<?> session : this.store.sweep(System.currentTimeMillis())) {
+                final Conversation<?> conversation = this.conversations.get(session.getConversation());
+                if (conversation != null) conversation.expire(session);
+            }
+        } catch (Exception e) {
+            e.printStackTrace(); // Keep the timer alive
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.m5rian.jdaCommandHandler.conversation;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Marian
+ * <p>
+ * A {@link SessionStore}, which keeps all sessions in memory.
+ */
+public class MemorySessionStore implements SessionStore {
+    private final Map<Key, Session<?>> sessions = new ConcurrentHashMap<>();
+
+    @Nullable
+    @Override
+    public Session<?> get(long channelId, long userId) {
+        if (this.sessions.isEmpty()) return null; // Skip allocating a key
+        return this.sessions.get(new Key(channelId, userId));
+    }
+
+    /**
+     * Adds a session or saves the changes of a session. The size of the session gets measured too,
+     * so the session must not change meanwhile.
+     *
+     * @param session The session.
+     */
+    @Override
+    public void put(Session<?> session) {
+        session.measure(); // Cache the size for the footprint
+        this.sessions.put(new Key(session.getChannelId(), session.getUserId()), session);
+    }
+
+    @Nullable
+    @Override
+    public Session<?> remove(long channelId, long userId) {
+        return this.sessions.remove(new Key(channelId, userId));
+    }
+
+    @Override
+    public List<Session<?>> sweep(long now) {
+        final List<Session<?>> expired = new ArrayList<>();
+        this.sessions.values().removeIf(session -> {
+            if (session.getExpiresAt() > now) return false;
+            expired.add(session);
+            return true;
+        });
+        return expired;
+    }
+
+    @Override
+    public int size() {
+        return this.sessions.size();
+    }
+
+    /**
+     * @return Returns the estimated amount of bytes, which the sessions in memory take.
+     * The sizes are measured once a session is saved, so this doesn't serialize any session.
+     */
+    @Override
+    public long getFootprint() {
+        long bytes = 0;
+        for (Session<?> session : this.sessions.values()) bytes += session.getSerializedSize();
+        return bytes;
+    }
+
+    /**
+     * @return Returns a view of all sessions in memory.
+     */
+    Collection<Session<?>> getSessions() {
+        return this.sessions.values();
+    }
+
+    /**
+     * The key of a session.
+     *
+     * @param channelId The id of the channel.
+     * @param userId    The id of the user.
+     */
+    record Key(long channelId, long userId) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.m5rian.jdaCommandHandler.conversation;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * @author Marian
+ * <p>
+ * A running {@link Conversation} of a user in a channel.
+ * A session is a small object, which only holds the current step and the state of the conversation.
+ * Sessions are serializable, so a {@link SessionStore} can move idle sessions out of memory.
+ *
+ * @param <S> The type of the state.
+ */
+public class Session<S extends Serializable> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long channelId; // Id of the channel of the conversation
+    private final long userId; // Id of the user who is in the conversation
+    private final long startMessageId; // Id of the message which started the conversation, earlier messages are ignored
+    private final String conversation; // Name of the conversation
+    private final long timeout; // Time in milliseconds after which an idle session expires
+    private final S state; // The state of the conversation
+    private volatile String step; // Name of the current step
+    private volatile long lastActivity; // Time of the last message in milliseconds since the epoch
+    private transient volatile long serializedSize; // Size in bytes of the serialized session, when it was last saved
+
+    /**
+     * @param channelId      The id of the channel.
+     * @param userId         The id of the user.
+     * @param startMessageId The id of the message which started the conversation or 0.
+     * @param conversation   The name of the conversation.
+     * @param step           The name of the first step.
+     * @param state          The initial state.
+     * @param timeout        The time in milliseconds after which an idle session expires.
+     */
+    public Session(long channelId, long userId, long startMessageId, String conversation, String step, S state, long timeout) {
+        this.channelId = channelId;
+        this.userId = userId;
+        this.startMessageId = startMessageId;
+        this.conversation = conversation;
+        this.step = step;
+        this.state = state;
+        this.timeout = timeout;
+        this.lastActivity = System.currentTimeMillis();
+    }
+
+    /**
+     * @return Returns the id of the channel.
+     */
+    public long getChannelId() {
+        return this.channelId;
+    }
+
+    /**
+     * @return Returns the id of the user.
+     */
+    public long getUserId() {
+        return this.userId;
+    }
+
+    /**
+     * @return Returns the id of the message which started the conversation or 0.
+     */
+    public long getStartMessageId() {
+        return this.startMessageId;
+    }
+
+    /**
+     * @return Returns the name of the {@link Conversation}.
+     */
+    public String getConversation() {
+        return this.conversation;
+    }
+
+    /**
+     * @return Returns the name of the current step.
+     */
+    public String getStep() {
+        return this.step;
+    }
+
+    /**
+     * @return Returns the state of the conversation.
+     */
+    public S getState() {
+        return this.state;
+    }
+
+    /**
+     * @return Returns the time of the last activity in milliseconds since the epoch.
+     */
+    public long getLastActivity() {
+        return this.lastActivity;
+    }
+
+    /**
+     * @return Returns the time in milliseconds since the epoch, at which the session expires if it stays idle.
+     */
+    public long getExpiresAt() {
+        return this.lastActivity + this.timeout;
+    }
+
+    /**
+     * @return Returns the amount of bytes the session took in its serialized form, when it was last saved to a {@link SessionStore}.
+     * This is used to estimate the memory footprint of sessions.
+     */
+    public long getSerializedSize() {
+        return this.serializedSize;
+    }
+
+    /**
+     * Measures the size of the session in its serialized form.
+     * <p>
+     * Call this while holding the monitor of the session or before the session is shared,
+     * the state mustn't change while it gets serialized.
+     */
+    void measure() {
+        final CountingOutputStream counter = new CountingOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(this);
+        } catch (IOException e) {
+            e.printStackTrace(); // Keep the previous size
+            return;
+        }
+        this.serializedSize = counter.count;
+    }
+
+    /**
+     * Moves the session to the next step.
+     *
+     * @param step The name of the next step.
+     */
+    void advance(String step) {
+        this.step = step;
+        this.lastActivity = System.currentTimeMillis();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.count += len;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.m5rian.jdaCommandHandler.conversation;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores the running {@link Session}s of {@link Conversations}.
+ * A user can only have one session per channel.
+ * <p>
+ * The default store is the {@link MemorySessionStore}. The {@link SpillingSessionStore} moves idle sessions to the disk.
+ */
+public interface SessionStore {
+    /**
+     * @param channelId The id of the channel.
+     * @param userId    The id of the user.
+     * @return Returns the session of the user in the channel or null if there is none.
+     */
+    @Nullable
+    Session<?> get(long channelId, long userId);
+
+    /**
+     * Adds a session or saves the changes of a session.
+     * {@link Conversations} saves a changed session while holding its monitor, so the session doesn't change meanwhile.
+     *
+     * @param session The session.
+     */
+    void put(Session<?> session);
+
+    /**
+     * @param channelId The id of the channel.
+     * @param userId    The id of the user.
+     * @return Returns the removed session or null if there was none.
+     */
+    @Nullable
+    Session<?> remove(long channelId, long userId);
+
+    /**
+     * Removes all expired sessions. This runs periodically, so stores can do other housekeeping here too.
+     *
+     * @param now The current time in milliseconds since the epoch.
+     * @return Returns all removed sessions.
+     */
+    List<Session<?>> sweep(long now);
+
+    /**
+     * @return Returns the amount of stored sessions.
+     */
+    int size();
+
+    /**
+     * @return Returns the estimated amount of bytes, which the sessions in memory take.
+     */
+    long getFootprint();
+}
@@ -0,0 +1,229 @@
+package com.github.m5rian.jdaCommandHandler.conversation;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Marian
+ * <p>
+ * A {@link SessionStore}, which keeps active sessions in memory and moves idle sessions to the disk.
+ * A spilled session is loaded back into memory once the user answers.
+ * <p>
+ * Every spilled session is a file in the directory, which starts with the expiry time of the session.
+ * Only the expiry times of spilled sessions are kept in memory, so spilled sessions survive restarts too.
+ * <p>
+ * Spilled sessions are only deserialized if they contain nothing but the {@link Session}, the registered state classes,
+ * strings, boxed primitives and arrays of those. A session with any other class is dropped.
+ */
+public class SpillingSessionStore implements SessionStore {
+    private static final String EXTENSION = ".session";
+
+    private final Path directory; // Directory of the spilled sessions
+    private final long spillAfter; // Idle time in milliseconds after which a session gets spilled
+    private final MemorySessionStore memory = new MemorySessionStore(); // Sessions in memory
+    private final Map<MemorySessionStore.Key, Long> spilled = new ConcurrentHashMap<>(); // Spilled sessions to their expiry time
+    private final Set<Class<?>> allowedClasses; // Classes which may be deserialized besides the session and basic types
+
+    /**
+     * @param directory    The directory to spill sessions to. Sessions which are already in there are loaded.
+     * @param spillAfter   The idle time after which a session gets spilled.
+     * @param stateClasses The classes of the states of all conversations, including classes the states consist of.
+     *                     No other classes are deserialized.
+     */
+    public SpillingSessionStore(Path directory, Duration spillAfter, Class<?>... stateClasses) {
+        this.directory = directory;
+        this.spillAfter = spillAfter.toMillis();
+        this.allowedClasses = Set.of(stateClasses);
+        try {
+            Files.createDirectories(directory);
+            // Index sessions of previous runs
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+                for (Path file : files) {
+                    final String name = file.getFileName().toString();
+                    final String[] ids = name.substring(0, name.length() - EXTENSION.length()).split("-");
+                    if (ids.length != 2) continue; // Not a session file
+
+                    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                        this.spilled.put(new MemorySessionStore.Key(Long.parseLong(ids[0]), Long.parseLong(ids[1])), in.readLong());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't load spilled sessions", e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Session<?> get(long channelId, long userId) {
+        final Session<?> session = this.memory.get(channelId, userId);
+        if (session != null || this.spilled.isEmpty()) return session;
+
+        synchronized (this) {
+            final Session<?> loaded = this.memory.get(channelId, userId); // Another thread might have loaded it already
+            if (loaded != null) return loaded;
+
+            final Session<?> unspilled = unspill(new MemorySessionStore.Key(channelId, userId));
+            if (unspilled != null) this.memory.put(unspilled);
+            return unspilled;
+        }
+    }
+
+    @Override
+    public void put(Session<?> session) {
+        this.memory.put(session);
+        if (this.spilled.isEmpty()) return;
+
+        synchronized (this) {
+            final MemorySessionStore.Key key = new MemorySessionStore.Key(session.getChannelId(), session.getUserId());
+            if (this.spilled.remove(key) != null) delete(key); // Drop the outdated spilled version
+        }
+    }
+
+    @Nullable
+    @Override
+    public synchronized Session<?> remove(long channelId, long userId) {
+        final Session<?> session = this.memory.remove(channelId, userId);
+        if (session != null) return session;
+        return unspill(new MemorySessionStore.Key(channelId, userId));
+    }
+
+    /**
+     * Removes all expired sessions and spills idle sessions.
+     * <p>
+     * A session is spilled while holding its monitor, like {@link Conversations} does while it changes a session.
+     * Therefore the store lock is only taken inside of the monitor of a session, never the other way round.
+     *
+     * @param now The current time in milliseconds since the epoch.
+     * @return Returns all removed sessions.
+     */
+    @Override
+    public List<Session<?>> sweep(long now) {
+        final List<Session<?>> expired;
+        synchronized (this) {
+            expired = this.memory.sweep(now);
+            // Expired spilled sessions
+            for (Map.Entry<MemorySessionStore.Key, Long> entry : this.spilled.entrySet()) {
+                if (entry.getValue() > now) continue;
+
+                final Session<?> session = unspill(entry.getKey());
+                if (session != null) expired.add(session);
+            }
+        }
+        // Spill idle sessions
+        for (Session<?> session : this.memory.getSessions()) {
+            if (now - session.getLastActivity() < this.spillAfter) continue;
+
+            synchronized (session) {
+                final MemorySessionStore.Key key = new MemorySessionStore.Key(session.getChannelId(), session.getUserId());
+                if (this.memory.get(key.channelId(), key.userId()) != session) continue; // Session ended or got replaced meanwhile
+                if (now - session.getLastActivity() < this.spillAfter) continue; // Session got active meanwhile
+
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file(key))))) {
+                    out.writeLong(session.getExpiresAt()); // Header to index the session without reading it
+                    final ObjectOutputStream objects = new ObjectOutputStream(out);
+                    objects.writeObject(session);
+                    objects.flush();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    delete(key);
+                    continue; // Keep the session in memory
+                }
+
+                synchronized (this) {
+                    // Session got replaced while it was written
+                    if (!this.memory.getSessions().remove(session)) {
+                        delete(key);
+                        continue;
+                    }
+                    this.spilled.put(key, session.getExpiresAt());
+                }
+            }
+        }
+        return expired;
+    }
+
+    @Override
+    public int size() {
+        return this.memory.size() + this.spilled.size();
+    }
+
+    /**
+     * @return Returns the estimated amount of bytes, which the sessions in memory take. Spilled sessions aren't included.
+     */
+    @Override
+    public long getFootprint() {
+        return this.memory.getFootprint();
+    }
+
+    /**
+     * @return Returns the amount of sessions on the disk.
+     */
+    public int getSpilledCount() {
+        return this.spilled.size();
+    }
+
+    /**
+     * Reads a spilled session and deletes its file.
+     *
+     * @param key The key of the session.
+     * @return Returns the spilled session or null if the session isn't spilled or can't be read.
+     */
+    @Nullable
+    private Session<?> unspill(MemorySessionStore.Key key) {
+        if (this.spilled.remove(key) == null) return null; // Session isn't spilled
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file(key))))) {
+            in.readLong(); // Skip expiry time
+            final ObjectInputStream objects = new ObjectInputStream(in);
+            objects.setObjectInputFilter(this::filter);
+            return (Session<?>) objects.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            delete(key);
+        }
+    }
+
+    /**
+     * Only allows the session, registered classes, strings, boxed primitives and arrays of those to be deserialized.
+     *
+     * @param info The {@link ObjectInputFilter.FilterInfo} of the class which gets deserialized.
+     * @return Returns {@link ObjectInputFilter.Status#REJECTED} for all other classes.
+     */
+    private ObjectInputFilter.Status filter(ObjectInputFilter.FilterInfo info) {
+        Class<?> type = info.serialClass();
+        if (type == null) return ObjectInputFilter.Status.UNDECIDED; // Not a class check
+        while (type.isArray()) type = type.getComponentType();
+
+        if (type.isPrimitive() || type == Session.class || type == String.class
+                || type == Boolean.class || type == Character.class || type == Number.class
+                || (Number.class.isAssignableFrom(type) && type.getPackageName().equals("java.lang")) // Boxed primitives
+                || type == Enum.class || this.allowedClasses.contains(type)) {
+            return ObjectInputFilter.Status.ALLOWED;
+        }
+        return ObjectInputFilter.Status.REJECTED;
+    }
+
+    private void delete(MemorySessionStore.Key key) {
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Path file(MemorySessionStore.Key key) {
+        return this.directory.resolve(key.channelId() + "-" + key.userId() + EXTENSION);
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.m5rian.jdaCommandHandler.dispatch;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Marian
+ * <p>
+ * A circuit breaker for a single command.
+ * <p>
+ * While the breaker is {@link State#CLOSED} every invocation runs and its outcome is counted in a sliding window of buckets.
+ * Once the failure rate in the window reaches the threshold, the breaker opens and invocations are short-circuited.
+ * After the open duration the breaker is {@link State#HALF_OPEN} and lets a few probe invocations through:
+ * if all of them succeed the breaker closes again, a single failure opens it again.
+ * <p>
+ * Every acquired invocation gets a ticket of the current state. Outcomes of invocations, which started before the state changed, are ignored.
+ */
+public class CircuitBreaker {
+    /**
+     * The ticket of a short-circuited invocation.
+     */
+    public static final long REJECTED = -1;
+    private static final int BUCKETS = 10; // Amount of buckets of the sliding window
+
+    private final Settings settings;
+    private final long bucketLength; // Length of a bucket in nanoseconds
+    private final long[] bucketEpochs = new long[BUCKETS]; // Epoch of the counts in every bucket
+    private final int[] successes = new int[BUCKETS];
+    private final int[] failures = new int[BUCKETS];
+    private final LongAdder shortCircuited = new LongAdder(); // Invocations which didn't run because the breaker was open
+    private State state = State.CLOSED;
+    private long generation; // Increases on every change of the state
+    private long openedAt; // Time the breaker opened as System#nanoTime()
+    private int probesStarted; // Started probes in the current half open state
+    private int probesSucceeded; // Succeeded probes in the current half open state
+
+    /**
+     * @param settings The {@link Settings} of the breaker.
+     */
+    public CircuitBreaker(Settings settings) {
+        this.settings = settings;
+        this.bucketLength = Math.max(1, settings.window().toNanos() / BUCKETS);
+    }
+
+    /**
+     * Checks if an invocation may run. Every acquired ticket must be passed to {@link #onSuccess(long)}, {@link #onFailure(long)} or {@link #cancel(long)}.
+     *
+     * @return Returns the ticket of the invocation or {@link #REJECTED} if the invocation is short-circuited.
+     */
+    public synchronized long tryAcquire() {
+        if (this.state == State.CLOSED) return this.generation;
+        // Breaker is open
+        if (this.state == State.OPEN) {
+            if (System.nanoTime() - this.openedAt < this.settings.openDuration().toNanos()) {
+                this.shortCircuited.increment();
+                return REJECTED;
+            }
+            // Try again with probes
+            this.state = State.HALF_OPEN;
+            this.generation++;
+            this.probesStarted = 0;
+            this.probesSucceeded = 0;
+        }
+        // Breaker is half open
+        if (this.probesStarted < this.settings.probes()) {
+            this.probesStarted++;
+            return this.generation;
+        }
+        this.shortCircuited.increment();
+        return REJECTED;
+    }
+
+    /**
+     * Records a successful invocation.
+     *
+     * @param ticket The ticket of the invocation from {@link #tryAcquire()}.
+     */
+    public synchronized void onSuccess(long ticket) {
+        if (ticket != this.generation) return; // Invocation started before the state changed
+        if (this.state == State.HALF_OPEN) {
+            if (++this.probesSucceeded >= this.settings.probes()) close(); // All probes succeeded
+            return;
+        }
+        this.successes[bucket()]++;
+    }
+
+    /**
+     * Gives back an acquired invocation, which didn't run after all. Nothing is recorded.
+     *
+     * @param ticket The ticket of the invocation from {@link #tryAcquire()}.
+     */
+    public synchronized void cancel(long ticket) {
+        if (ticket != this.generation) return; // Invocation started before the state changed
+        if (this.state == State.HALF_OPEN && this.probesStarted > 0) this.probesStarted--; // Let another probe run instead
+    }
+
+    /**
+     * Records a failed invocation.
+     *
+     * @param ticket The ticket of the invocation from {@link #tryAcquire()}.
+     */
+    public synchronized void onFailure(long ticket) {
+        if (ticket != this.generation) return; // Invocation started before the state changed
+        if (this.state == State.HALF_OPEN) {
+            open(); // A probe failed
+            return;
+        }
+        this.failures[bucket()]++;
+        if (this.state == State.CLOSED) {
+            final long epoch = System.nanoTime() / this.bucketLength;
+            int calls = 0;
+            int failed = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (epoch - this.bucketEpochs[i] >= BUCKETS) continue; // Bucket is outside of the window
+                calls += this.successes[i] + this.failures[i];
+                failed += this.failures[i];
+            }
+            if (calls >= this.settings.minimumCalls() && failed >= calls * this.settings.failureRate()) open();
+        }
+    }
+
+    /**
+     * @return Returns the current {@link State}.
+     */
+    public synchronized State getState() {
+        // An open breaker is half open once the open duration passed, even if no invocation tried yet
+        if (this.state == State.OPEN && System.nanoTime() - this.openedAt >= this.settings.openDuration().toNanos()) return State.HALF_OPEN;
+        return this.state;
+    }
+
+    /**
+     * @return Returns the amount of invocations, which were short-circuited.
+     */
+    public long getShortCircuited() {
+        return this.shortCircuited.sum();
+    }
+
+    /**
+     * @return Returns the index of the bucket of the current time. An outdated bucket is reset first.
+     */
+    private int bucket() {
+        final long epoch = System.nanoTime() / this.bucketLength;
+        final int index = (int) Math.floorMod(epoch, (long) BUCKETS);
+        // Bucket is from an older round of the window
+        if (this.bucketEpochs[index] != epoch) {
+            this.bucketEpochs[index] = epoch;
+            this.successes[index] = 0;
+            this.failures[index] = 0;
+        }
+        return index;
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.generation++;
+        this.openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        this.state = State.CLOSED;
+        this.generation++;
+        // Forget the failures, which opened the breaker
+        Arrays.fill(this.successes, 0);
+        Arrays.fill(this.failures, 0);
+    }
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * Invocations run normally.
+         */
+        CLOSED,
+        /**
+         * Invocations are short-circuited.
+         */
+        OPEN,
+        /**
+         * A few probe invocations run to test if the command works again.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * The settings of circuit breakers.
+     *
+     * @param failureRate  The rate of failed invocations in the window, which opens the breaker, between 0 and 1.
+     * @param minimumCalls The minimum amount of invocations in the window, before the breaker can open.
+     * @param window       The length of the sliding window.
+     * @param openDuration The time the breaker stays open before probes run.
+     * @param probes       The amount of probes, which must succeed to close the breaker again.
+     */
+    public record Settings(double failureRate, int minimumCalls, Duration window, Duration openDuration, int probes) {
+        public Settings {
+            if (failureRate <= 0 || failureRate > 1) throw new IllegalArgumentException("The failure rate must be between 0 and 1");
+            if (minimumCalls <= 0 || probes <= 0) throw new IllegalArgumentException("The minimum calls and probes must be positive");
+        }
+
+        /**
+         * @return Returns settings which open a breaker at 50% failures of at least 10 invocations in a minute for 30 seconds, with 3 probes.
+         */
+        public static Settings defaults() {
+            return new Settings(0.5, 10, Duration.ofMinutes(1), Duration.ofSeconds(30), 3);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.m5rian.jdaCommandHandler.dispatch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Marian
+ * <p>
+ * Limits how many invocations of a command run at the same time and adapts the limit to the observed latency.
+ * <p>
+ * The limiter keeps a fast and a slow moving average of the latency. While the fast average stays close to the slow one,
+ * the limit grows by one per limit invocations, as long as the command actually uses its limit.
+ * Once the fast average exceeds the slow one by the tolerance or an invocation fails, the limit shrinks by a factor (AIMD).
+ * So a degraded downstream only gets a few workers, while a healthy one gets up to the maximum.
+ */
+public class ConcurrencyLimiter {
+    private static final double FAST_WEIGHT = 0.2; // Weight of a new latency in the fast moving average
+    private static final double SLOW_WEIGHT = 0.01; // Weight of a new latency in the slow moving average
+    private static final double TOLERANCE = 2.0; // Factor by which the fast average may exceed the slow one
+    private static final double BACKOFF = 0.9; // Factor to decrease the limit by
+
+    private final int minLimit; // Lowest possible limit
+    private final int maxLimit; // Highest possible limit
+    private final AtomicInteger inFlight = new AtomicInteger(); // Running invocations
+    private final LongAdder rejected = new LongAdder(); // Invocations which exceeded the limit
+    private volatile double limit; // Current limit
+    private double fastLatency; // Fast moving average of the latency in nanoseconds
+    private double slowLatency; // Slow moving average of the latency in nanoseconds
+
+    /**
+     * Creates a limiter, which starts with the maximum limit.
+     *
+     * @param maxLimit The highest possible limit.
+     */
+    public ConcurrencyLimiter(int maxLimit) {
+        this(1, maxLimit);
+    }
+
+    /**
+     * Creates a limiter, which starts with the maximum limit.
+     *
+     * @param minLimit The lowest possible limit.
+     * @param maxLimit The highest possible limit.
+     */
+    public ConcurrencyLimiter(int minLimit, int maxLimit) {
+        if (minLimit <= 0 || maxLimit < minLimit) throw new IllegalArgumentException("The limits must be positive and the minimum can't be higher than the maximum");
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Starts an invocation, if the limit isn't reached.
+     * Every successful call must be followed by {@link #release(long, boolean)}.
+     *
+     * @return Returns true if the invocation may run.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = this.inFlight.get();
+            if (current >= (int) this.limit) {
+                this.rejected.increment();
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * Finishes an invocation and adapts the limit.
+     *
+     * @param latency The duration of the invocation in nanoseconds.
+     * @param success Did the invocation succeed? Failures count as overload.
+     */
+    public void release(long latency, boolean success) {
+        final int inFlight = this.inFlight.getAndDecrement();
+        synchronized (this) {
+            if (this.slowLatency == 0) {
+                this.fastLatency = latency;
+                this.slowLatency = latency;
+            } else {
+                this.fastLatency += (latency - this.fastLatency) * FAST_WEIGHT;
+                this.slowLatency += (latency - this.slowLatency) * SLOW_WEIGHT;
+            }
+
+            double limit = this.limit;
+            // Downstream is overloaded
+            if (!success || this.fastLatency > this.slowLatency * TOLERANCE) {
+                limit *= BACKOFF;
+            }
+            // Limit is used, so it might be too low
+            else if (inFlight * 2 >= limit) {
+                limit += 1 / limit;
+            }
+            this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, limit));
+        }
+    }
+
+    /**
+     * @return Returns the current limit.
+     */
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    /**
+     * @return Returns the amount of running invocations.
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * @return Returns the amount of invocations, which were rejected because of the limit.
+     */
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * @return Returns the highest possible limit.
+     */
+    public int getMaxLimit() {
+        return this.maxLimit;
+    }
+}
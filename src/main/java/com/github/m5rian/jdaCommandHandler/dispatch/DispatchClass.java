@@ -0,0 +1,34 @@
+package com.github.m5rian.jdaCommandHandler.dispatch;
+
+/**
+ * @author Marian
+ * <p>
+ * The classes of work, which the {@link PriorityDispatcher} schedules separately.
+ */
+public enum DispatchClass {
+    /**
+     * Slash commands and components. Interactions must be acknowledged within 3 seconds.
+     */
+    INTERACTION(8),
+    /**
+     * Text commands and triggers.
+     */
+    COMMAND(4),
+    /**
+     * Callbacks of the {@link com.github.m5rian.jdaCommandHandler.EventWaiter}. They're shed first, but run right away instead of getting dropped.
+     */
+    BACKGROUND(1);
+
+    private final int defaultWeight;
+
+    DispatchClass(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * @return Returns how many tasks of this class run in a row by default, before other classes get their turn.
+     */
+    public int getDefaultWeight() {
+        return this.defaultWeight;
+    }
+}
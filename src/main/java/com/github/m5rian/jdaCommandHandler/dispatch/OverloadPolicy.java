@@ -0,0 +1,24 @@
+package com.github.m5rian.jdaCommandHandler.dispatch;
+
+/**
+ * @author Marian
+ * <p>
+ * Decides which task the {@link PriorityDispatcher} sheds, once its queue is full.
+ */
+public enum OverloadPolicy {
+    /**
+     * The new task is shed.
+     */
+    REJECT_NEWEST,
+    /**
+     * The oldest task of the lowest class, which isn't more important than the new task, is shed.
+     * If there is no such task, the new task is shed.
+     */
+    DROP_OLDEST,
+    /**
+     * The newest task of the key with the most queued tasks is shed, which is usually the guild which causes the load.
+     * Only tasks which aren't more important than the new task are shed.
+     * If the key of the new task already has the most queued tasks or there is no such task, the new task is shed.
+     */
+    GUILD_FAIR_SHARE
+}
@@ -0,0 +1,392 @@
+package com.github.m5rian.jdaCommandHandler.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author Marian
+ * <p>
+ * Runs commands on a fixed amount of threads, with a separate queue for every {@link DispatchClass}.
+ * <p>
+ * The queues are served by weighted round robin: a class may run as many tasks in a row as its weight, then the next class gets its turn.
+ * So under load interactions still get most of the threads, while text commands and background work are never starved.
+ * Tasks with a deadline, like interactions which must be acknowledged in time, are dropped instead of run once their deadline passed.
+ * <p>
+ * All queues together hold at most a fixed amount of tasks, so a spam wave can't grow the memory without limit.
+ * Once they're full, the {@link OverloadPolicy} decides which task gets shed.
+ * Dropped and shed tasks run their drop action instead, for example to tell the user that the bot is busy.
+ */
+public class PriorityDispatcher {
+    private static final DispatchClass[] CLASSES = DispatchClass.values();
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final ArrayDeque<Task>[] queues; // Queue of every class
+    private final int[] weights; // Weight of every class
+    private final int[] credits; // Remaining tasks every class may run in the current round
+    private final int capacity; // Maximum amount of queued tasks of all classes
+    private final OverloadPolicy policy; // Decides which task is shed once the queues are full
+    private final Map<Long, Integer> keys = new HashMap<>(); // Amount of queued tasks per key, only used for GUILD_FAIR_SHARE
+    private int size; // Amount of queued tasks of all classes
+    private int cursor; // Class which is served at the moment
+    private boolean shutdown;
+
+    private final LongAdder[] submitted = new LongAdder[CLASSES.length];
+    private final LongAdder[] executed = new LongAdder[CLASSES.length];
+    private final LongAdder[] dropped = new LongAdder[CLASSES.length];
+    private final LongAdder[] shed = new LongAdder[CLASSES.length];
+    private final LongAdder[] waitTime = new LongAdder[CLASSES.length]; // Total nanoseconds executed tasks waited in the queue
+
+    /**
+     * Creates a dispatcher with the default weights of the classes, which holds at most {@link #DEFAULT_CAPACITY} tasks and rejects new tasks when full.
+     *
+     * @param threads The amount of threads to run commands on.
+     */
+    public PriorityDispatcher(int threads) {
+        this(threads, DEFAULT_CAPACITY, OverloadPolicy.REJECT_NEWEST);
+    }
+
+    /**
+     * Creates a dispatcher with the default weights of the classes.
+     *
+     * @param threads  The amount of threads to run commands on.
+     * @param capacity The maximum amount of queued tasks of all classes.
+     * @param policy   The {@link OverloadPolicy}, which decides which task is shed once the queues are full.
+     */
+    public PriorityDispatcher(int threads, int capacity, OverloadPolicy policy) {
+        this(threads, capacity, policy, new EnumMap<>(DispatchClass.class));
+    }
+
+    /**
+     * @param threads  The amount of threads to run commands on.
+     * @param capacity The maximum amount of queued tasks of all classes.
+     * @param policy   The {@link OverloadPolicy}, which decides which task is shed once the queues are full.
+     * @param weights  The weights of the classes. Classes without a weight use their {@link DispatchClass#getDefaultWeight()}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PriorityDispatcher(int threads, int capacity, OverloadPolicy policy, Map<DispatchClass, Integer> weights) {
+        if (threads <= 0) throw new IllegalArgumentException("The amount of threads must be positive");
+        if (capacity <= 0) throw new IllegalArgumentException("The capacity must be positive");
+
+        this.capacity = capacity;
+        this.policy = policy;
+
+        this.queues = new ArrayDeque[CLASSES.length];
+        this.weights = new int[CLASSES.length];
+        this.credits = new int[CLASSES.length];
+        for (DispatchClass dispatchClass : CLASSES) {
+            final int index = dispatchClass.ordinal();
+            final int weight = weights.getOrDefault(dispatchClass, dispatchClass.getDefaultWeight());
+            if (weight <= 0) throw new IllegalArgumentException("The weight of " + dispatchClass + " must be positive");
+
+            this.queues[index] = new ArrayDeque<>();
+            this.weights[index] = weight;
+            this.credits[index] = weight;
+            this.submitted[index] = new LongAdder();
+            this.executed[index] = new LongAdder();
+            this.dropped[index] = new LongAdder();
+            this.shed[index] = new LongAdder();
+            this.waitTime[index] = new LongAdder();
+        }
+
+        for (int i = 0; i < threads; i++) {
+            final Thread thread = new Thread(this::work, "Command-Dispatcher-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Queues a task without a deadline.
+     *
+     * @param dispatchClass The class of the task.
+     * @param task          The task.
+     * @return Returns false if the dispatcher is shut down.
+     */
+    public boolean submit(DispatchClass dispatchClass, Runnable task) {
+        return submit(dispatchClass, 0, task, null);
+    }
+
+    /**
+     * Queues a task without a deadline.
+     *
+     * @param dispatchClass The class of the task.
+     * @param key           The key for {@link OverloadPolicy#GUILD_FAIR_SHARE}, usually the id of the guild.
+     * @param task          The task.
+     * @param dropAction    A {@link Runnable} which runs instead of the task, if the task is shed. Can be null.
+     * @return Returns false if the dispatcher is shut down.
+     */
+    public boolean submit(DispatchClass dispatchClass, long key, Runnable task, Runnable dropAction) {
+        return submit(new Task(dispatchClass, key, task, dropAction, false, 0, System.nanoTime()));
+    }
+
+    /**
+     * Queues a task, which is dropped if it can't start before its deadline.
+     *
+     * @param dispatchClass The class of the task.
+     * @param key           The key for {@link OverloadPolicy#GUILD_FAIR_SHARE}, usually the id of the guild.
+     * @param task          The task.
+     * @param deadline      The latest start of the task as {@link System#nanoTime()}.
+     * @param dropAction    A {@link Runnable} which runs instead of the task, if the task is dropped or shed. Can be null.
+     * @return Returns false if the dispatcher is shut down.
+     */
+    public boolean submit(DispatchClass dispatchClass, long key, Runnable task, long deadline, Runnable dropAction) {
+        return submit(new Task(dispatchClass, key, task, dropAction, true, deadline, System.nanoTime()));
+    }
+
+    /**
+     * Stops accepting tasks. Already queued tasks still run.
+     */
+    public void shutdown() {
+        this.lock.lock();
+        try {
+            this.shutdown = true;
+            this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return Returns the amount of waiting tasks of all classes.
+     */
+    public int getQueued() {
+        this.lock.lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @param dispatchClass A class.
+     * @return Returns the amount of waiting tasks of the class.
+     */
+    public int getQueued(DispatchClass dispatchClass) {
+        this.lock.lock();
+        try {
+            return this.queues[dispatchClass.ordinal()].size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return Returns the maximum amount of queued tasks of all classes.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return Returns the {@link OverloadPolicy}.
+     */
+    public OverloadPolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * @param dispatchClass A class.
+     * @return Returns the amount of submitted tasks of the class.
+     */
+    public long getSubmitted(DispatchClass dispatchClass) {
+        return this.submitted[dispatchClass.ordinal()].sum();
+    }
+
+    /**
+     * @param dispatchClass A class.
+     * @return Returns the amount of tasks of the class, which ran.
+     */
+    public long getExecuted(DispatchClass dispatchClass) {
+        return this.executed[dispatchClass.ordinal()].sum();
+    }
+
+    /**
+     * @param dispatchClass A class.
+     * @return Returns the amount of tasks of the class, which were dropped because of their deadline.
+     */
+    public long getDropped(DispatchClass dispatchClass) {
+        return this.dropped[dispatchClass.ordinal()].sum();
+    }
+
+    /**
+     * @param dispatchClass A class.
+     * @return Returns the amount of tasks of the class, which were shed because the queues were full.
+     */
+    public long getShed(DispatchClass dispatchClass) {
+        return this.shed[dispatchClass.ordinal()].sum();
+    }
+
+    /**
+     * @param dispatchClass A class.
+     * @return Returns the average time in nanoseconds, which the executed tasks of the class waited in the queue.
+     */
+    public long getAverageWaitTime(DispatchClass dispatchClass) {
+        final long executed = this.executed[dispatchClass.ordinal()].sum();
+        return executed == 0 ? 0 : this.waitTime[dispatchClass.ordinal()].sum() / executed;
+    }
+
+    private boolean submit(Task task) {
+        Task shedTask = null;
+        this.lock.lock();
+        try {
+            if (this.shutdown) return false;
+            if (this.size >= this.capacity) shedTask = evict(task);
+            if (shedTask != task) {
+                enqueue(task);
+                this.notEmpty.signal();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.submitted[task.dispatchClass.ordinal()].increment();
+        if (shedTask != null) {
+            this.shed[shedTask.dispatchClass.ordinal()].increment();
+            if (shedTask.dropAction != null) run(shedTask.dropAction);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a task to make room for a new task, depending on the {@link OverloadPolicy}. Must be called while holding the lock.
+     *
+     * @param task The new task.
+     * @return Returns the removed task or the new task, if the new task is shed.
+     */
+    private Task evict(Task task) {
+        switch (this.policy) {
+            case DROP_OLDEST -> {
+                // Only tasks which aren't more important than the new one
+                for (int index = CLASSES.length - 1; index >= task.dispatchClass.ordinal(); index--) {
+                    if (!this.queues[index].isEmpty()) return dequeue(this.queues[index].pollFirst());
+                }
+            }
+            case GUILD_FAIR_SHARE -> {
+                // Find the key with the most queued tasks
+                long heaviest = task.key;
+                int most = this.keys.getOrDefault(task.key, 0);
+                for (Map.Entry<Long, Integer> entry : this.keys.entrySet()) {
+                    if (entry.getValue() > most) {
+                        heaviest = entry.getKey();
+                        most = entry.getValue();
+                    }
+                }
+                if (heaviest == task.key) break; // Key of the new task already has the biggest share
+
+                // Remove the newest task of the heaviest key, which isn't more important than the new task
+                for (int index = CLASSES.length - 1; index >= task.dispatchClass.ordinal(); index--) {
+                    final Iterator<Task> tasks = this.queues[index].descendingIterator();
+                    while (tasks.hasNext()) {
+                        final Task queued = tasks.next();
+                        if (queued.key != heaviest) continue;
+                        tasks.remove();
+                        return dequeue(queued);
+                    }
+                }
+            }
+        }
+        return task;
+    }
+
+    private void enqueue(Task task) {
+        this.queues[task.dispatchClass.ordinal()].add(task);
+        this.size++;
+        if (this.policy == OverloadPolicy.GUILD_FAIR_SHARE) this.keys.merge(task.key, 1, Integer::sum);
+    }
+
+    /**
+     * Updates the counters for a task, which was removed from its queue.
+     *
+     * @param task The removed task.
+     * @return Returns the task.
+     */
+    private Task dequeue(Task task) {
+        this.size--;
+        if (this.policy == OverloadPolicy.GUILD_FAIR_SHARE) this.keys.computeIfPresent(task.key, (key, count) -> count == 1 ? null : count - 1);
+        return task;
+    }
+
+    private void work() {
+        while (true) {
+            final Task task;
+            try {
+                task = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) return; // Dispatcher is shut down
+
+            final int index = task.dispatchClass.ordinal();
+            final long now = System.nanoTime();
+            // Task can't start in time anymore
+            if (task.hasDeadline && now - task.deadline > 0) {
+                this.dropped[index].increment();
+                if (task.dropAction != null) run(task.dropAction);
+                continue;
+            }
+            this.waitTime[index].add(now - task.enqueued);
+            run(task.task);
+            this.executed[index].increment();
+        }
+    }
+
+    private static void run(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Throwable e) {
+            e.printStackTrace(); // Keep the thread alive
+        }
+    }
+
+    /**
+     * Waits for the next task.
+     *
+     * @return Returns the next task or null if the dispatcher is shut down and all queues are empty.
+     * @throws InterruptedException If the thread got interrupted while waiting.
+     */
+    private Task take() throws InterruptedException {
+        this.lock.lock();
+        try {
+            while (true) {
+                final Task task = poll();
+                if (task != null) return task;
+                if (this.shutdown) return null;
+                this.notEmpty.await();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Picks the next task by weighted round robin. Must be called while holding the lock.
+     *
+     * @return Returns the next task or null if all queues are empty.
+     */
+    private Task poll() {
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < CLASSES.length; i++) {
+                final int index = (this.cursor + i) % CLASSES.length;
+                if (this.credits[index] == 0 || this.queues[index].isEmpty()) continue;
+
+                this.credits[index]--;
+                this.cursor = this.credits[index] == 0 ? (index + 1) % CLASSES.length : index; // Move on once the class used its credits
+                return dequeue(this.queues[index].poll());
+            }
+            System.arraycopy(this.weights, 0, this.credits, 0, this.weights.length); // Start a new round
+        }
+        return null;
+    }
+
+    private record Task(DispatchClass dispatchClass, long key, Runnable task, Runnable dropAction, boolean hasDeadline, long deadline, long enqueued) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.m5rian.jdaCommandHandler.dispatch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * @author Marian
+ * <p>
+ * Interrupts threads, which run longer than their timeout, and fails futures, which don't complete in time.
+ * <p>
+ * All timeouts share a single daemon thread, which only starts once the first timeout is watched.
+ * A watched thread must always call {@link Watch#finish()}, which also clears an interrupt of the watchdog,
+ * so a pooled thread never carries the interrupt to its next task.
+ */
+public class Watchdog {
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * @param name The name of the thread of the watchdog.
+     */
+    public Watchdog(String name) {
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true); // Finished watches don't stay in the queue until their timeout
+    }
+
+    /**
+     * Starts to watch the current thread.
+     *
+     * @param timeout The time after which the thread gets interrupted.
+     * @param unit    The unit of the timeout.
+     * @return Returns a {@link Watch}, which must be finished once the thread is done.
+     */
+    public Watch watch(long timeout, TimeUnit unit) {
+        final Watch watch = new Watch(Thread.currentThread());
+        watch.future = this.scheduler.schedule(watch::expire, timeout, unit);
+        return watch;
+    }
+
+    /**
+     * Completes a future exceptionally, if it doesn't complete before its timeout.
+     *
+     * @param future  The future to watch.
+     * @param timeout The time after which the future fails.
+     * @param unit    The unit of the timeout.
+     * @param error   Creates the exception the future fails with.
+     */
+    public void watch(CompletableFuture<?> future, long timeout, TimeUnit unit, Supplier<? extends Throwable> error) {
+        if (future.isDone()) return;
+
+        final ScheduledFuture<?> expiry = this.scheduler.schedule(() -> {
+            if (!future.isDone()) future.completeExceptionally(error.get());
+        }, timeout, unit);
+        future.whenComplete((result, failure) -> expiry.cancel(false)); // Future completed in time
+    }
+
+    /**
+     * Stops the watchdog. Running watches don't expire anymore.
+     */
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * A watched thread.
+     */
+    public static class Watch {
+        private final Thread thread; // The watched thread
+        private ScheduledFuture<?> future; // The scheduled expiry, only used by the watched thread
+        private boolean running = true; // Is the thread still watched?
+        private boolean expired; // Did the watch expire?
+
+        private Watch(Thread thread) {
+            this.thread = thread;
+        }
+
+        private synchronized void expire() {
+            if (!this.running) return; // Thread finished in time
+
+            this.expired = true;
+            this.thread.interrupt();
+        }
+
+        /**
+         * Stops watching the thread. Must be called by the watched thread.
+         *
+         * @return Returns true if the thread exceeded its timeout and got interrupted.
+         */
+        public boolean finish() {
+            final boolean expired;
+            // The interrupt of an expired watch is always done once the lock is released
+            synchronized (this) {
+                this.running = false;
+                expired = this.expired;
+            }
+            if (this.future != null) this.future.cancel(false);
+            if (expired) Thread.interrupted(); // Clear the interrupt of the watchdog
+            return expired;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.m5rian.jdaCommandHandler.exceptions;
+
+import java.time.Duration;
+
+/**
+ * @author Marian
+ * <p>
+ * Will fire, once a command runs longer than its timeout and gets interrupted.
+ */
+public class CommandTimeoutException extends Exception {
+    private final Duration timeout;
+
+    /**
+     * Will fire, once a command runs longer than its timeout and gets interrupted.
+     *
+     * @param command The name of the command.
+     * @param timeout The exceeded timeout.
+     * @param cause   The exception the command threw after it got interrupted. Can be null.
+     */
+    public CommandTimeoutException(String command, Duration timeout, Throwable cause) {
+        super("The command " + command + " exceeded its timeout of " + timeout.toMillis() + "ms", cause);
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return Returns the exceeded timeout.
+     */
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+}
@@ -1,15 +1,20 @@
 package com.github.m5rian.jdaCommandHandler.slashCommand;
 
+import com.github.m5rian.jdaCommandHandler.commandServices.Blacklist;
 import com.github.m5rian.jdaCommandHandler.commandServices.IBlacklistService;
 import com.github.m5rian.jdaCommandHandler.commandServices.ISlashCommandService;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.events.interaction.SlashCommandEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.api.requests.restaction.interactions.ReplyAction;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Marian
@@ -17,12 +22,20 @@ import java.util.List;
  * This class contains all information about an executed slash command.
  */
 public class SlashCommandContext {
+    // States of the acknowledgement
+    private static final int OPEN = 0; // Not acknowledged yet
+    private static final int REPLIED = 1; // Replied directly
+    private static final int DEFERRED = 2; // Deferred, the next reply edits the deferred response
+    private static final int EDITED = 3; // Deferred response got edited
+
     // Variables
     private final SlashCommandEvent event; // The actual event
 
     private final SlashCommandData slashCommandData; // The slash command service
     private final ISlashCommandService slashCommandService; // Used slash command service
     private final IBlacklistService blacklistService; // Used blacklist service
+    private final AtomicInteger state = new AtomicInteger(OPEN); // How the interaction got acknowledged
+    private final Instant deadline; // Time until which the slash command may run, null if it has no timeout
 
     /**
      * Constructor.
@@ -32,26 +45,109 @@ public class SlashCommandContext {
      * @param service          The used CommandService.
      */
     public SlashCommandContext(SlashCommandEvent event, SlashCommandData slashCommandData, Object service) {
+        this(event, slashCommandData, service, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param event            The SlashCommandEvent.
+     * @param slashCommandData Data of the fired {@link com.github.m5rian.jdaCommandHandler.slashCommand.SlashCommandEvent}.
+     * @param service          The used CommandService.
+     * @param deadline         The time until which the slash command may run. Can be null if the slash command has no timeout.
+     */
+    public SlashCommandContext(SlashCommandEvent event, SlashCommandData slashCommandData, Object service, @Nullable Instant deadline) {
         this.event = event;
+        this.deadline = deadline;
         this.slashCommandData = slashCommandData;
         this.slashCommandService = (ISlashCommandService) service;
         this.blacklistService = (IBlacklistService) service;
     }
 
-    public ReplyAction reply(String content) {
-        return this.event.reply(content);
+    /**
+     * Replies to the slash command. If the interaction is already deferred, the deferred response gets edited instead
+     * and any further reply is sent as a followup message.
+     *
+     * @param content The content of the reply.
+     * @return Returns a {@link ReplyAction} or, once the interaction is acknowledged, an action of the {@link InteractionHook}.
+     */
+    public RestAction<?> reply(String content) {
+        return switch (respond()) {
+            case OPEN -> this.event.reply(content);
+            case DEFERRED -> this.event.getHook().editOriginal(content);
+            default -> this.event.getHook().sendMessage(content);
+        };
+    }
+
+    public RestAction<?> reply(Message message) {
+        return switch (respond()) {
+            case OPEN -> this.event.reply(message);
+            case DEFERRED -> this.event.getHook().editOriginal(message);
+            default -> this.event.getHook().sendMessage(message);
+        };
     }
 
-    public ReplyAction reply(Message message) {
-        return this.event.reply(message);
+    public RestAction<?> replyEmbeds(Collection<? extends MessageEmbed> embeds) {
+        return switch (respond()) {
+            case OPEN -> this.event.replyEmbeds(embeds);
+            case DEFERRED -> this.event.getHook().editOriginalEmbeds(embeds);
+            default -> this.event.getHook().sendMessageEmbeds(embeds);
+        };
     }
 
-    public ReplyAction replyEmbeds(Collection<? extends MessageEmbed> embeds) {
-        return this.event.replyEmbeds(embeds);
+    /**
+     * Replies to the slash command with a message, which only the user can see.
+     * If the interaction is already deferred, the deferred response gets edited instead, which keeps the visibility of the deferral.
+     *
+     * @param content The content of the reply.
+     * @return Returns a {@link ReplyAction} or, once the interaction is acknowledged, an action of the {@link InteractionHook}.
+     */
+    public RestAction<?> replyEphemeral(String content) {
+        return switch (respond()) {
+            case OPEN -> this.event.reply(content).setEphemeral(true);
+            case DEFERRED -> this.event.getHook().editOriginal(content);
+            default -> this.event.getHook().sendMessage(content).setEphemeral(true);
+        };
     }
 
-    public ReplyAction replyEmbeds(MessageEmbed embed, MessageEmbed... embeds) {
-        return this.event.replyEmbeds(embed, embeds);
+    public RestAction<?> replyEmbeds(MessageEmbed embed, MessageEmbed... embeds) {
+        return switch (respond()) {
+            case OPEN -> this.event.replyEmbeds(embed, embeds);
+            case DEFERRED -> {
+                final MessageEmbed[] all = new MessageEmbed[embeds.length + 1];
+                all[0] = embed;
+                System.arraycopy(embeds, 0, all, 1, embeds.length);
+                yield this.event.getHook().editOriginalEmbeds(all);
+            }
+            default -> this.event.getHook().sendMessageEmbeds(embed, embeds);
+        };
+    }
+
+    /**
+     * Defers the reply, if the interaction isn't acknowledged yet.
+     * Later replies of this context edit the deferred response.
+     *
+     * @return Returns true if the reply got deferred.
+     */
+    public boolean deferIfUnacknowledged() {
+        if (this.event.isAcknowledged()) return false; // Handler acknowledged the interaction on its own
+        if (!this.state.compareAndSet(OPEN, DEFERRED)) return false; // Handler replied already
+
+        this.event.deferReply().queue();
+        return true;
+    }
+
+    /**
+     * Moves the state forward for a reply.
+     *
+     * @return Returns the state before the reply.
+     */
+    private int respond() {
+        while (true) {
+            final int current = this.state.get();
+            final int next = current == OPEN ? REPLIED : current == DEFERRED ? EDITED : current;
+            if (this.state.compareAndSet(current, next)) return current;
+        }
     }
 
     /**
@@ -110,10 +206,10 @@ public class SlashCommandContext {
     }
 
     /**
-     * @return Returns the current blacklisted members with their ID.
+     * @return Returns the {@link Blacklist} of the used command service.
      */
-    public List<String> getBlacklist() {
-        return this.blacklistService.userBlacklist;
+    public Blacklist getBlacklist() {
+        return this.blacklistService.getBlacklist();
     }
 
     /**
@@ -129,4 +225,23 @@ public class SlashCommandContext {
     public ISlashCommandService getSlashCommandService() {
         return this.slashCommandService;
     }
+
+    /**
+     * @return Returns the time until which the slash command may run or null if it has no timeout.
+     * Pass it on to slow calls, so they give up once the slash command would be interrupted anyway.
+     */
+    @Nullable
+    public Instant getDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * @return Returns the time the slash command has left until its deadline, never negative, or null if it has no timeout.
+     */
+    @Nullable
+    public Duration getRemainingTime() {
+        if (this.deadline == null) return null;
+        final Duration remaining = Duration.between(Instant.now(), this.deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
 }
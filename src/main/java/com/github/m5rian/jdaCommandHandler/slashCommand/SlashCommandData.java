@@ -1,9 +1,15 @@
 package com.github.m5rian.jdaCommandHandler.slashCommand;
 
 import com.github.m5rian.jdaCommandHandler.CommandHandler;
+import com.github.m5rian.jdaCommandHandler.dispatch.ConcurrencyLimiter;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Marian
@@ -14,6 +20,12 @@ public class SlashCommandData {
     private final Method method; // The actual method, which runs when the slash command is fired
     private final CommandHandler instance; // An instance of the class
     private final SlashCommandEvent slashCommand; // The SlashCommandEvent annotation
+    private final AtomicInteger runningInvocations = new AtomicInteger(); // Invocations which haven't finished yet
+    private final ConcurrencyLimiter concurrencyLimiter; // Limits concurrent invocations, null if unlimited
+    private final AtomicLong deferrals = new AtomicLong(); // Invocations which got deferred automatically
+    private final AtomicLong timeouts = new AtomicLong(); // Invocations which exceeded their timeout
+    private final LongAdder completedInvocations = new LongAdder(); // Invocations which completed, successfully or not
+    private final LongAdder totalLatency = new LongAdder(); // Summed up latency of completed invocations in nanoseconds
 
     /**
      * @param instance     The instance of the class, which is used to {@link Method#invoke(Object, Object...)} the slash command method.
@@ -24,6 +36,7 @@ public class SlashCommandData {
         this.instance = instance;
         this.method = method;
         this.slashCommand = slashCommand;
+        this.concurrencyLimiter = slashCommand.concurrencyLimit() > 0 ? new ConcurrencyLimiter(slashCommand.concurrencyLimit()) : null;
     }
 
     /**
@@ -46,4 +59,86 @@ public class SlashCommandData {
     public SlashCommandEvent getSlashCommand() {
         return this.slashCommand;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return Returns the {@link ConcurrencyLimiter} of the annotation or null if the annotation doesn't limit the concurrency.
+     */
+    @Nullable
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return this.concurrencyLimiter;
+    }
+
+    /**
+     * Marks the start of an invocation of the slash command method. Queued invocations are marked as well, so their module stays loaded.
+     */
+    public void invocationStarted() {
+        this.runningInvocations.incrementAndGet();
+    }
+
+    /**
+     * Marks the end of an invocation of the slash command method.
+     */
+    public void invocationFinished() {
+        this.runningInvocations.decrementAndGet();
+    }
+
+    /**
+     * @return Returns the amount of queued and running invocations of the slash command method. An invocation counts twice while its queued task still runs.
+     */
+    public int getRunningInvocations() {
+        return this.runningInvocations.get();
+    }
+
+    /**
+     * Marks that an invocation of the slash command got deferred automatically, because it exceeded the latency budget.
+     */
+    public void deferred() {
+        this.deferrals.incrementAndGet();
+    }
+
+    /**
+     * @return Returns how often invocations of the slash command got deferred automatically.
+     */
+    public long getDeferrals() {
+        return this.deferrals.get();
+    }
+
+    /**
+     * Marks that an invocation of the slash command method exceeded its timeout.
+     */
+    public void timedOut() {
+        this.timeouts.incrementAndGet();
+    }
+
+    /**
+     * @return Returns how often invocations of the slash command method exceeded their timeout.
+     */
+    public long getTimeouts() {
+        return this.timeouts.get();
+    }
+
+    /**
+     * Records the latency of a completed invocation of the slash command method.
+     *
+     * @param latency The time from the start of the invocation until it completed in nanoseconds.
+     */
+    public void invocationCompleted(long latency) {
+        this.completedInvocations.increment();
+        this.totalLatency.add(latency);
+    }
+
+    /**
+     * @return Returns the amount of completed invocations of the slash command method, including failed ones.
+     */
+    public long getCompletedInvocations() {
+        return this.completedInvocations.sum();
+    }
+
+    /**
+     * @return Returns the average latency of completed invocations of the slash command method or {@link Duration#ZERO} if none completed yet.
+     */
+    public Duration getAverageLatency() {
+        final long invocations = this.completedInvocations.sum();
+        return invocations == 0 ? Duration.ZERO : Duration.ofNanos(this.totalLatency.sum() / invocations);
+    }
+}
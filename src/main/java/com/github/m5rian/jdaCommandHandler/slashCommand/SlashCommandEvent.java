@@ -7,6 +7,9 @@ import java.lang.annotation.Target;
 
 /**
  * This annotation marks a slash command as usable. It contains all important information to execute the slash command.
+ * <p>
+ * A slash command method can return a {@link java.util.concurrent.CompletionStage} to run asynchronously.
+ * The slash command counts as running until the stage completes and an exceptional completion is handled like a thrown exception.
  */
 @Retention(RetentionPolicy.RUNTIME) // Keep annotation at runtime
 @Target(ElementType.METHOD) // Only addable for methods
@@ -30,4 +33,21 @@ public @interface SlashCommandEvent {
     Subcommand[] subcommands() default {};
 
     Argument[] args() default {};
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the maximum amount of invocations of the slash command, which run at the same time.
+     * The actual limit adapts to the latency of the slash command, see {@link com.github.m5rian.jdaCommandHandler.dispatch.ConcurrencyLimiter}.
+     *
+     * @return Returns the maximum concurrency or 0 if the slash command isn't limited.
+     */
+    int concurrencyLimit() default 0;
+
+    /**
+     * Retrieves the maximum execution time of the slash command in milliseconds.
+     * Once the slash command runs longer, its thread gets interrupted and the invocation counts as failed.
+     * Threads are only interrupted if the command service has a dispatcher, asynchronous slash commands time out in any case.
+     *
+     * @return Returns the timeout, 0 to use the default timeout of the command service or a negative value to never time out.
+     */
+    long timeout() default 0;
+}
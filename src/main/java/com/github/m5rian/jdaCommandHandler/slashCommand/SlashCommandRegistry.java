@@ -0,0 +1,101 @@
+package com.github.m5rian.jdaCommandHandler.slashCommand;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores all registered slash commands of one command service.
+ * <p>
+ * The slash commands are kept in an immutable snapshot, which gets replaced as a whole on every change.
+ * Because of that the dispatching of slash commands never locks and never sees a half finished registration.
+ */
+public class SlashCommandRegistry {
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Registers slash commands.
+     *
+     * @param slashCommands The slash commands to register.
+     */
+    public void register(Collection<SlashCommandData> slashCommands) {
+        update(slashCommand -> false, slashCommands);
+    }
+
+    /**
+     * Unregisters all slash commands which match the filter.
+     *
+     * @param filter A filter which returns true for slash commands to unregister.
+     */
+    public void unregister(Predicate<SlashCommandData> filter) {
+        update(filter, Collections.emptyList());
+    }
+
+    /**
+     * Unregisters and registers slash commands in a single step.
+     *
+     * @param filter        A filter which returns true for slash commands to unregister.
+     * @param slashCommands The slash commands to register.
+     */
+    public void replace(Predicate<SlashCommandData> filter, Collection<SlashCommandData> slashCommands) {
+        update(filter, slashCommands);
+    }
+
+    /**
+     * Unregisters all slash commands.
+     */
+    public void clear() {
+        this.snapshot.set(Snapshot.EMPTY);
+    }
+
+    /**
+     * @return Returns an immutable list of all registered slash commands.
+     */
+    public List<SlashCommandData> getSlashCommands() {
+        return this.snapshot.get().slashCommands;
+    }
+
+    /**
+     * @param name The name of the slash command.
+     * @return Returns the first registered slash command with the name or null if there is none.
+     */
+    @Nullable
+    public SlashCommandData find(String name) {
+        return this.snapshot.get().names.get(name);
+    }
+
+    private void update(Predicate<SlashCommandData> filter, Collection<SlashCommandData> added) {
+        final List<SlashCommandData> addedSlashCommands = List.copyOf(added);
+        this.snapshot.updateAndGet(snapshot -> {
+            final List<SlashCommandData> slashCommands = new ArrayList<>(snapshot.slashCommands.size() + addedSlashCommands.size());
+            for (SlashCommandData slashCommand : snapshot.slashCommands) {
+                if (!filter.test(slashCommand)) slashCommands.add(slashCommand);
+            }
+            slashCommands.addAll(addedSlashCommands);
+            return new Snapshot(slashCommands);
+        });
+    }
+
+    /**
+     * An immutable state of the registry.
+     */
+    private static class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+        private final List<SlashCommandData> slashCommands; // All slash commands in the order they were registered
+        private final Map<String, SlashCommandData> names; // Name of a slash command to the slash command
+
+        private Snapshot(List<SlashCommandData> slashCommands) {
+            this.slashCommands = List.copyOf(slashCommands);
+
+            final Map<String, SlashCommandData> names = new HashMap<>();
+            for (SlashCommandData slashCommand : this.slashCommands) {
+                names.putIfAbsent(slashCommand.getSlashCommand().name(), slashCommand);
+            }
+            this.names = names;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.m5rian.jdaCommandHandler.trigger;
+
+import com.github.m5rian.jdaCommandHandler.EventWaiter;
+import com.github.m5rian.jdaCommandHandler.commandServices.ICommandService;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+
+import javax.annotation.Nullable;
+import java.util.regex.MatchResult;
+
+/**
+ * This class contains all information about a fired trigger.
+ */
+@SuppressWarnings("unused")
+public class TriggerContext {
+    private final MessageReceivedEvent event; // The actual event
+    private final TriggerData trigger; // The fired trigger
+    private final String keyword; // The found keyword
+    private final MatchResult match; // The match of the pattern
+    private final ICommandService commandService; // Used command service
+
+    /**
+     * @param event          The MessageReceivedEvent.
+     * @param match          The match of the trigger.
+     * @param commandService The command service which fired the trigger.
+     */
+    public TriggerContext(MessageReceivedEvent event, TriggerRegistry.TriggerMatch match, ICommandService commandService) {
+        this.event = event;
+        this.trigger = match.trigger();
+        this.keyword = match.keyword();
+        this.match = match.match();
+        this.commandService = commandService;
+    }
+
+    /**
+     * @return Returns MessageReceivedEvent.
+     */
+    public MessageReceivedEvent getEvent() {
+        return this.event;
+    }
+
+    public JDA getBot() {
+        return this.event.getJDA();
+    }
+
+    /**
+     * @return Returns the message, which fired the trigger.
+     */
+    public Message getMessage() {
+        return this.event.getMessage();
+    }
+
+    /**
+     * @return Returns the Guild. If the trigger was fired in a direct message this method will return Null.
+     */
+    @Nullable
+    public Guild getGuild() {
+        return this.event.isFromGuild() ? this.event.getGuild() : null;
+    }
+
+    /**
+     * @return Returns the channel, in which the trigger was fired.
+     */
+    public MessageChannel getChannel() {
+        return this.event.getChannel();
+    }
+
+    /**
+     * @return Returns the author as a {@link User}.
+     */
+    public User getAuthor() {
+        return this.event.getAuthor();
+    }
+
+    /**
+     * @return Return the author as a {@link Member}.
+     */
+    public Member getMember() {
+        return this.event.getMember();
+    }
+
+    /**
+     * @return Returns the {@link TriggerEvent} of the fired method.
+     */
+    public TriggerEvent getTrigger() {
+        return this.trigger.getTrigger();
+    }
+
+    /**
+     * @return Returns the found keyword as written in the message. Null if the trigger fired because of its pattern.
+     */
+    @Nullable
+    public String getKeyword() {
+        return this.keyword;
+    }
+
+    /**
+     * @return Returns the match of the pattern. Null if the trigger fired because of a keyword.
+     */
+    @Nullable
+    public MatchResult getMatch() {
+        return this.match;
+    }
+
+    /**
+     * @return Returns the used {@link ICommandService}.
+     */
+    public ICommandService getCommandService() {
+        return this.commandService;
+    }
+
+    /**
+     * @return Returns the event waiter.
+     */
+    public EventWaiter getWaiter() {
+        return this.commandService.getEventWaiter();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.m5rian.jdaCommandHandler.trigger;
+
+import com.github.m5rian.jdaCommandHandler.CommandHandler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * @author Marian
+ * <p>
+ * This class stores all information about a registered trigger.
+ */
+public class TriggerData {
+    private final Method method; // The actual method, which runs when the trigger is fired
+    private final CommandHandler instance; // An instance of the class
+    private final TriggerEvent trigger; // The TriggerEvent annotation
+    private final Pattern pattern; // The compiled pattern, null if the trigger has no pattern
+    private final AtomicInteger runningInvocations = new AtomicInteger(); // Invocations which haven't finished yet
+
+    /**
+     * @param instance The instance of the class, which is used to {@link Method#invoke(Object, Object...)} the trigger method.
+     * @param method   The method we want to run, once the trigger is fired.
+     * @param trigger  A {@link TriggerEvent} annotation which stores all information about a trigger.
+     */
+    public TriggerData(CommandHandler instance, Method method, TriggerEvent trigger) {
+        this.instance = instance;
+        this.method = method;
+        this.trigger = trigger;
+        this.pattern = trigger.pattern().isEmpty() ? null : Pattern.compile(trigger.pattern()); // Fail on registration for invalid patterns
+    }
+
+    /**
+     * @return Returns an instance of the trigger class.
+     */
+    public CommandHandler getInstance() {
+        return this.instance;
+    }
+
+    /**
+     * @return Returns the trigger method.
+     */
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * @return Returns the {@link TriggerEvent} annotation.
+     */
+    public TriggerEvent getTrigger() {
+        return this.trigger;
+    }
+
+    /**
+     * @return Returns the compiled pattern or null if the trigger has no pattern.
+     */
+    public Pattern getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Marks the start of an invocation of the trigger method.
+     */
+    public void invocationStarted() {
+        this.runningInvocations.incrementAndGet();
+    }
+
+    /**
+     * Marks the end of an invocation of the trigger method.
+     */
+    public void invocationFinished() {
+        this.runningInvocations.decrementAndGet();
+    }
+
+    /**
+     * @return Returns the amount of invocations of the trigger method, which haven't finished yet.
+     */
+    public int getRunningInvocations() {
+        return this.runningInvocations.get();
+    }
+}
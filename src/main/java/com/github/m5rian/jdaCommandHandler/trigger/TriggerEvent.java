@@ -0,0 +1,49 @@
+package com.github.m5rian.jdaCommandHandler.trigger;
+
+import com.github.m5rian.jdaCommandHandler.Channel;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks a method as a trigger. A trigger runs once a message contains one of its keywords or matches its pattern.
+ * Triggers don't need a prefix, they're meant for auto responders and moderation.
+ * <p>
+ * A trigger runs at most once per message, even if several of its keywords are found.
+ * Triggers are matched independently of each other, so a match may overlap with the match of another trigger.
+ */
+@Retention(RetentionPolicy.RUNTIME) // Keep annotation at runtime
+@Target(ElementType.METHOD) // Only addable for methods
+public @interface TriggerEvent {
+    /**
+     * Retrieves the keywords of the trigger. Keywords are matched case-insensitively anywhere in the message.
+     *
+     * @return The keywords.
+     */
+    String[] keywords() default {};
+
+    /**
+     * Retrieves a regular expression, which is searched for in the message.
+     *
+     * @return The pattern or an empty String if the trigger has no pattern.
+     */
+    String pattern() default "";
+
+    /**
+     * Retrieves if keywords may only match whole words.
+     * If true, a keyword needs to be surrounded by characters which aren't letters or digits.
+     *
+     * @return Returns if keywords only match whole words.
+     */
+    boolean wholeWords() default true;
+
+    /**
+     * Retrieves the required channel type for the trigger to run.
+     * If {@link Channel#DEFAULT} the trigger will react on guild and direct messages.
+     *
+     * @return The channel type of the trigger.
+     */
+    Channel channel() default Channel.DEFAULT;
+}
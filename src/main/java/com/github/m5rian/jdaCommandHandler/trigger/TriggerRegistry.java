@@ -0,0 +1,301 @@
+package com.github.m5rian.jdaCommandHandler.trigger;
+
+import com.github.m5rian.jdaCommandHandler.utils.AhoCorasick;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @author Marian
+ * <p>
+ * Stores all registered triggers of one command service.
+ * <p>
+ * All keywords are compiled into a single {@link AhoCorasick} automaton and all patterns into a single alternation.
+ * A message is scanned once for keywords. The alternation is searched again after every match, but only until it reports a trigger
+ * which already fired, so it is searched at most once per pattern. Patterns which didn't fire until then are searched on their own.
+ * Patterns with back references or named groups can't be combined, these are matched on their own.
+ * <p>
+ * Like the command registry, the compiled state is an immutable snapshot which gets replaced as a whole on every change.
+ */
+public class TriggerRegistry {
+    private static final Pattern UNCOMBINABLE = Pattern.compile("\\\\[1-9]|\\\\k<|\\(\\?<[a-zA-Z]|\\\\Q|\\(\\?[a-zA-Z-]*x"); // Back references, named groups, quotes and comments
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Registers triggers.
+     *
+     * @param triggers The triggers to register.
+     */
+    public void register(Collection<TriggerData> triggers) {
+        update(trigger -> false, triggers);
+    }
+
+    /**
+     * Unregisters all triggers which match the filter.
+     *
+     * @param filter A filter which returns true for triggers to unregister.
+     */
+    public void unregister(Predicate<TriggerData> filter) {
+        update(filter, Collections.emptyList());
+    }
+
+    /**
+     * Unregisters and registers triggers in a single step.
+     *
+     * @param filter   A filter which returns true for triggers to unregister.
+     * @param triggers The triggers to register.
+     */
+    public void replace(Predicate<TriggerData> filter, Collection<TriggerData> triggers) {
+        update(filter, triggers);
+    }
+
+    /**
+     * Unregisters all triggers.
+     */
+    public void clear() {
+        this.snapshot.set(Snapshot.EMPTY);
+    }
+
+    /**
+     * @return Returns an immutable list of all registered triggers.
+     */
+    public List<TriggerData> getTriggers() {
+        return this.snapshot.get().triggers;
+    }
+
+    /**
+     * @return Returns if no triggers are registered.
+     */
+    public boolean isEmpty() {
+        return this.snapshot.get().triggers.isEmpty();
+    }
+
+    /**
+     * Finds all triggers which fire for a message.
+     * Every trigger is returned at most once, with its first match.
+     * Matches of different triggers can overlap, like independent searches for each pattern would find them.
+     *
+     * @param content The content of the message.
+     * @return Returns all fired triggers in the order they were registered.
+     */
+    public List<TriggerMatch> match(String content) {
+        final Snapshot snapshot = this.snapshot.get();
+        if (snapshot.triggers.isEmpty()) return Collections.emptyList();
+
+        final TriggerMatch[] fired = new TriggerMatch[snapshot.triggers.size()];
+        // Keywords
+        if (snapshot.keywords != null) {
+            snapshot.keywords.search(content, (keyword, end) -> {
+                final int trigger = snapshot.keywordOwners[keyword];
+                if (fired[trigger] != null) return; // Trigger already fired
+
+                final int start = end - snapshot.keywords.getLength(keyword);
+                final TriggerData data = snapshot.triggers.get(trigger);
+                if (data.getTrigger().wholeWords() && !(isBoundary(content, start - 1) && isBoundary(content, end))) return;
+                fired[trigger] = new TriggerMatch(data, content.substring(start, end), null);
+            });
+        }
+        // Combined patterns
+        if (snapshot.combined != null) {
+            final Matcher matcher = snapshot.combined.matcher(content);
+            int remaining = 0; // Alternatives which didn't fire yet
+            for (int trigger : snapshot.patternOwners) {
+                if (fired[trigger] == null) remaining++;
+            }
+            int from = 0;
+            while (remaining > 0 && from <= content.length() && matcher.find(from)) {
+                final int start = matcher.start();
+                // Find the alternative which matched
+                int winner = 0;
+                while (matcher.start(snapshot.groupOffsets[winner]) == -1) winner++;
+                final int trigger = snapshot.patternOwners[winner];
+                // The alternation would keep reporting this trigger, search the remaining patterns on their own
+                if (fired[trigger] != null) {
+                    for (int i = 0; i < snapshot.patternOwners.length; i++) {
+                        final int other = snapshot.patternOwners[i];
+                        if (fired[other] != null) continue;
+
+                        final Matcher alternative = snapshot.patterns[i].matcher(content);
+                        if (alternative.find(start)) fired[other] = new TriggerMatch(snapshot.triggers.get(other), null, alternative.toMatchResult()); // Nothing matched before the start
+                    }
+                    break;
+                }
+                fired[trigger] = new TriggerMatch(snapshot.triggers.get(trigger), null, new OffsetMatchResult(matcher.toMatchResult(), snapshot.groupOffsets[winner], snapshot.groupCounts[winner]));
+                remaining--;
+                // Later alternatives can match at the same position too, but the alternation only reports the first one
+                for (int i = winner + 1; i < snapshot.patternOwners.length && remaining > 0; i++) {
+                    final int other = snapshot.patternOwners[i];
+                    if (fired[other] != null) continue;
+
+                    final Matcher alternative = snapshot.patterns[i].matcher(content).region(start, content.length()).useTransparentBounds(true).useAnchoringBounds(false);
+                    if (!alternative.lookingAt()) continue;
+                    fired[other] = new TriggerMatch(snapshot.triggers.get(other), null, alternative.toMatchResult());
+                    remaining--;
+                }
+                from = start + 1; // Matches of other triggers can start inside this match
+            }
+        }
+        // Patterns which can't be combined
+        for (int trigger : snapshot.standalone) {
+            if (fired[trigger] != null) continue;
+
+            final Matcher matcher = snapshot.triggers.get(trigger).getPattern().matcher(content);
+            if (matcher.find()) fired[trigger] = new TriggerMatch(snapshot.triggers.get(trigger), null, matcher.toMatchResult());
+        }
+
+        final List<TriggerMatch> matches = new ArrayList<>();
+        for (TriggerMatch match : fired) {
+            if (match != null) matches.add(match);
+        }
+        return matches;
+    }
+
+    private void update(Predicate<TriggerData> filter, Collection<TriggerData> added) {
+        final List<TriggerData> addedTriggers = List.copyOf(added);
+        this.snapshot.updateAndGet(snapshot -> {
+            final List<TriggerData> triggers = new ArrayList<>(snapshot.triggers.size() + addedTriggers.size());
+            for (TriggerData trigger : snapshot.triggers) {
+                if (!filter.test(trigger)) triggers.add(trigger);
+            }
+            triggers.addAll(addedTriggers);
+            return new Snapshot(triggers);
+        });
+    }
+
+    /**
+     * @param content The content of a message.
+     * @param index   An index in the content.
+     * @return Returns if the index is outside of the content or the character at the index isn't part of a word.
+     */
+    private static boolean isBoundary(String content, int index) {
+        return index < 0 || index >= content.length() || !Character.isLetterOrDigit(content.charAt(index));
+    }
+
+    /**
+     * A fired trigger.
+     *
+     * @param trigger The trigger.
+     * @param keyword The found keyword as written in the message. Null if the trigger fired because of its pattern.
+     * @param match   The match of the pattern. Null if the trigger fired because of a keyword.
+     */
+    public record TriggerMatch(TriggerData trigger, String keyword, MatchResult match) {
+    }
+
+    /**
+     * A {@link MatchResult} of one alternative of the combined pattern, with the group numbers of the original pattern.
+     */
+    private static class OffsetMatchResult implements MatchResult {
+        private final MatchResult result; // Result of the combined pattern
+        private final int offset; // Group of the alternative in the combined pattern
+        private final int groupCount; // Amount of groups of the original pattern
+
+        private OffsetMatchResult(MatchResult result, int offset, int groupCount) {
+            this.result = result;
+            this.offset = offset;
+            this.groupCount = groupCount;
+        }
+
+        @Override
+        public int start() {
+            return this.result.start(this.offset);
+        }
+
+        @Override
+        public int start(int group) {
+            return this.result.start(this.offset + checkGroup(group));
+        }
+
+        @Override
+        public int end() {
+            return this.result.end(this.offset);
+        }
+
+        @Override
+        public int end(int group) {
+            return this.result.end(this.offset + checkGroup(group));
+        }
+
+        @Override
+        public String group() {
+            return this.result.group(this.offset);
+        }
+
+        @Override
+        public String group(int group) {
+            return this.result.group(this.offset + checkGroup(group));
+        }
+
+        @Override
+        public int groupCount() {
+            return this.groupCount;
+        }
+
+        private int checkGroup(int group) {
+            if (group < 0 || group > this.groupCount) throw new IndexOutOfBoundsException("No group " + group);
+            return group;
+        }
+    }
+
+    /**
+     * An immutable state of the registry.
+     */
+    private static class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+        private final List<TriggerData> triggers; // All triggers in the order they were registered
+        private final AhoCorasick keywords; // Automaton of all keywords, null if there are none
+        private final int[] keywordOwners; // Keyword id to trigger index
+        private final Pattern combined; // Alternation of all combinable patterns, null if there are none
+        private final int[] patternOwners; // Alternative to trigger index
+        private final Pattern[] patterns; // Alternative to its own pattern
+        private final int[] groupOffsets; // Alternative to its group in the combined pattern
+        private final int[] groupCounts; // Alternative to the amount of groups of its pattern
+        private final int[] standalone; // Trigger indices of patterns which can't be combined
+
+        private Snapshot(List<TriggerData> triggers) {
+            this.triggers = List.copyOf(triggers);
+
+            final List<String> keywords = new ArrayList<>();
+            final List<Integer> keywordOwners = new ArrayList<>();
+            final StringBuilder combined = new StringBuilder();
+            final List<int[]> alternatives = new ArrayList<>(); // Trigger index, group offset, group count
+            final List<Integer> standalone = new ArrayList<>();
+            int group = 1;
+            for (int i = 0; i < this.triggers.size(); i++) {
+                final TriggerData trigger = this.triggers.get(i);
+                for (String keyword : trigger.getTrigger().keywords()) {
+                    keywords.add(keyword);
+                    keywordOwners.add(i);
+                }
+
+                final Pattern pattern = trigger.getPattern();
+                if (pattern == null) continue; // Trigger has no pattern
+                // Pattern can't be renumbered
+                if (pattern.flags() != 0 || UNCOMBINABLE.matcher(pattern.pattern()).find()) {
+                    standalone.add(i);
+                    continue;
+                }
+
+                final int groupCount = pattern.matcher("").groupCount();
+                if (combined.length() != 0) combined.append('|');
+                combined.append('(').append(pattern.pattern()).append(')');
+                alternatives.add(new int[]{i, group, groupCount});
+                group += groupCount + 1;
+            }
+
+            this.keywords = keywords.isEmpty() ? null : new AhoCorasick(keywords);
+            this.keywordOwners = keywordOwners.stream().mapToInt(Integer::intValue).toArray();
+            this.combined = alternatives.isEmpty() ? null : Pattern.compile(combined.toString());
+            this.patternOwners = alternatives.stream().mapToInt(alternative -> alternative[0]).toArray();
+            this.patterns = alternatives.stream().map(alternative -> this.triggers.get(alternative[0]).getPattern()).toArray(Pattern[]::new);
+            this.groupOffsets = alternatives.stream().mapToInt(alternative -> alternative[1]).toArray();
+            this.groupCounts = alternatives.stream().mapToInt(alternative -> alternative[2]).toArray();
+            this.standalone = standalone.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.m5rian.jdaCommandHandler.utils;
+
+import java.util.*;
+
+/**
+ * @author Marian
+ * <p>
+ * An immutable Aho-Corasick automaton, which finds all occurrences of many keywords in a single pass over a text.
+ * Keywords are matched case-insensitively.
+ * <p>
+ * All nodes are stored in flat arrays, children of a node are sorted by their character.
+ */
+public class AhoCorasick {
+    private static final int[] NONE = new int[0];
+
+    private final int[] childOffsets; // Children of node n are in [childOffsets[n], childOffsets[n + 1])
+    private final char[] childCharacters; // Characters of all children
+    private final int[] childNodes; // Nodes of all children
+    private final int[] failures; // Node of the longest proper suffix, which is also a node
+    private final int[][] outputs; // Keywords which end at a node, including the ones of its failure nodes
+    private final int[] lengths; // Length of each keyword
+
+    /**
+     * @param keywords All keywords. The index of a keyword in the list is its id.
+     */
+    public AhoCorasick(List<String> keywords) {
+        // Build trie
+        final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        final List<int[]> outputs = new ArrayList<>();
+        children.add(new TreeMap<>()); // Add root
+        outputs.add(NONE);
+        this.lengths = new int[keywords.size()];
+        for (int keyword = 0; keyword < keywords.size(); keyword++) {
+            final String word = keywords.get(keyword);
+            this.lengths[keyword] = word.length();
+            if (word.isEmpty()) continue; // Empty keywords never match
+
+            int node = 0;
+            for (int i = 0; i < word.length(); i++) {
+                final char character = Character.toLowerCase(word.charAt(i));
+                final Integer child = children.get(node).get(character);
+                if (child == null) {
+                    children.add(new TreeMap<>());
+                    outputs.add(NONE);
+                    children.get(node).put(character, children.size() - 1);
+                    node = children.size() - 1;
+                } else node = child;
+            }
+            outputs.set(node, append(outputs.get(node), keyword));
+        }
+
+        // Flatten trie
+        final int nodes = children.size();
+        this.childOffsets = new int[nodes + 1];
+        this.childCharacters = new char[nodes - 1];
+        this.childNodes = new int[nodes - 1];
+        int offset = 0;
+        for (int node = 0; node < nodes; node++) {
+            this.childOffsets[node] = offset;
+            for (Map.Entry<Character, Integer> child : children.get(node).entrySet()) {
+                this.childCharacters[offset] = child.getKey();
+                this.childNodes[offset] = child.getValue();
+                offset++;
+            }
+        }
+        this.childOffsets[nodes] = offset;
+
+        // Compute failure links breadth first, so the failure node of a parent is always done before its children
+        this.failures = new int[nodes];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (int child = this.childOffsets[0]; child < this.childOffsets[1]; child++) queue.add(this.childNodes[child]);
+        while (!queue.isEmpty()) {
+            final int node = queue.poll();
+            for (int child = this.childOffsets[node]; child < this.childOffsets[node + 1]; child++) {
+                final int next = this.childNodes[child];
+                final int failure = step(this.failures[node], this.childCharacters[child]);
+                this.failures[next] = failure;
+                // A keyword which ends at the failure node ends here too
+                final int[] inherited = outputs.get(failure);
+                if (inherited.length != 0) {
+                    final int[] merged = Arrays.copyOf(outputs.get(next), outputs.get(next).length + inherited.length);
+                    System.arraycopy(inherited, 0, merged, outputs.get(next).length, inherited.length);
+                    outputs.set(next, merged);
+                }
+                queue.add(next);
+            }
+        }
+        this.outputs = outputs.toArray(new int[0][]);
+    }
+
+    /**
+     * Finds all keywords in a text.
+     *
+     * @param text     The text to search in.
+     * @param consumer Receives every match with the id of the keyword and the index after the last character of the match.
+     */
+    public void search(CharSequence text, MatchConsumer consumer) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            node = step(node, Character.toLowerCase(text.charAt(i)));
+            for (int keyword : this.outputs[node]) consumer.accept(keyword, i + 1);
+        }
+    }
+
+    /**
+     * @param keyword The id of a keyword.
+     * @return Returns the length of the keyword.
+     */
+    public int getLength(int keyword) {
+        return this.lengths[keyword];
+    }
+
+    /**
+     * @param node      The current node.
+     * @param character The next character.
+     * @return Returns the node after reading the character.
+     */
+    private int step(int node, char character) {
+        while (true) {
+            final int from = this.childOffsets[node];
+            final int to = this.childOffsets[node + 1];
+            final int child = from == to ? -1 : Arrays.binarySearch(this.childCharacters, from, to, character);
+            if (child >= 0) return this.childNodes[child];
+            if (node == 0) return 0; // Root has no failure node
+            node = this.failures[node];
+        }
+    }
+
+    private static int[] append(int[] array, int value) {
+        final int[] appended = Arrays.copyOf(array, array.length + 1);
+        appended[array.length] = value;
+        return appended;
+    }
+
+    /**
+     * Receives matches of {@link AhoCorasick#search(CharSequence, MatchConsumer)}.
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+        /**
+         * @param keyword The id of the keyword.
+         * @param end     The index after the last character of the match.
+         */
+        void accept(int keyword, int end);
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.m5rian.jdaCommandHandler.utils;
+
+import java.util.*;
+
+/**
+ * @author Marian
+ * <p>
+ * An immutable BK-tree to find words with a small edit distance to a query.
+ * The distance is the Levenshtein distance, which is a metric as a BK-tree requires.
+ * <p>
+ * Because of the triangle inequality a search only visits a small part of the tree, even with thousands of words.
+ */
+public class BkTree {
+    private final Node root; // Null if the tree is empty
+
+    /**
+     * @param words All words of the tree. Duplicates are ignored.
+     */
+    public BkTree(Collection<String> words) {
+        Node root = null;
+        for (String word : words) {
+            if (root == null) root = new Node(word);
+            else root.add(word);
+        }
+        this.root = root;
+    }
+
+    /**
+     * @param query       The word to search for.
+     * @param maxDistance The maximum distance of a result to the query.
+     * @param limit       The maximum amount of results.
+     * @return Returns the closest words, sorted by their distance and then alphabetically.
+     */
+    public List<String> search(String query, int maxDistance, int limit) {
+        if (this.root == null || limit <= 0) return Collections.emptyList();
+
+        final List<Match> matches = new ArrayList<>();
+        final Deque<Node> queue = new ArrayDeque<>();
+        final int[][] rows = new int[2][query.length() + 1]; // Reused for every distance
+        queue.add(this.root);
+        while (!queue.isEmpty()) {
+            final Node node = queue.poll();
+            final int distance = distance(node.word, query, rows);
+            if (distance <= maxDistance) matches.add(new Match(node.word, distance));
+
+            // Only children in this range can be close enough
+            for (int childDistance = Math.max(1, distance - maxDistance); childDistance <= distance + maxDistance; childDistance++) {
+                final Node child = node.children.get(childDistance);
+                if (child != null) queue.add(child);
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::word));
+        final List<String> words = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) words.add(matches.get(i).word());
+        return words;
+    }
+
+    /**
+     * @param a A word.
+     * @param b Another word.
+     * @return Returns the Levenshtein distance of both words.
+     */
+    public static int distance(String a, String b) {
+        return distance(a, b, new int[2][b.length() + 1]);
+    }
+
+    /**
+     * @param a    A word.
+     * @param b    Another word.
+     * @param rows Two rows with a length of at least {@code b.length() + 1}.
+     * @return Returns the Levenshtein distance of both words.
+     */
+    private static int distance(String a, String b, int[][] rows) {
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            final int[] recycled = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private record Match(String word, int distance) {
+    }
+
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>(); // Distance to the child with that distance
+
+        private Node(String word) {
+            this.word = word;
+        }
+
+        private void add(String word) {
+            Node node = this;
+            while (true) {
+                final int distance = distance(word, node.word);
+                if (distance == 0) return; // Word is already in the tree
+
+                final Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(word));
+                    return;
+                }
+                node = child;
+            }
+        }
+    }
+}
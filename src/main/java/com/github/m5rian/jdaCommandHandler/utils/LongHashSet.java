@@ -0,0 +1,236 @@
+package com.github.m5rian.jdaCommandHandler.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * @author Marian
+ * <p>
+ * A set of primitive {@code long} values using open addressing, made for Discord ids.
+ * Because of that {@code 0} and {@code -1} can't be stored.
+ * <p>
+ * Reads don't lock and never see a half finished bulk operation, writes are synchronized.
+ */
+public class LongHashSet {
+    private static final long EMPTY = 0; // Marks a free slot
+    private static final long REMOVED = -1; // Marks a slot of a removed value
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile AtomicLongArray table; // All slots
+    private int size; // Amount of stored values
+    private int removed; // Amount of slots marked as removed
+
+    /**
+     * Creates an empty set.
+     */
+    public LongHashSet() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty set which can hold {@code expectedSize} values without growing.
+     *
+     * @param expectedSize The amount of values this set is expected to store.
+     */
+    public LongHashSet(int expectedSize) {
+        this.table = new AtomicLongArray(capacityFor(expectedSize));
+    }
+
+    /**
+     * @param value The value to look for.
+     * @return Returns if the value is in the set.
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY || value == REMOVED) return false;
+
+        final AtomicLongArray table = this.table;
+        final int mask = table.length() - 1;
+        int slot = mix(value) & mask;
+        // Go through slots until the value or a free slot is found
+        while (true) {
+            final long current = table.get(slot);
+            if (current == value) return true;
+            if (current == EMPTY) return false;
+            slot = slot + 1 & mask;
+        }
+    }
+
+    /**
+     * @param value The value to add.
+     * @return Returns true if the value wasn't in the set already.
+     */
+    public synchronized boolean add(long value) {
+        check(value);
+        if (contains(value)) return false;
+
+        if ((this.size + this.removed + 1) * 2L > this.table.length()) rehash(this.size + 1);
+        insert(this.table, value);
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Adds multiple values at once.
+     * Readers either see none or all of the new values, because they're added to a copy of the table which replaces the old one.
+     *
+     * @param values The values to add.
+     */
+    public synchronized void addAll(long... values) {
+        for (long value : values) check(value);
+
+        final AtomicLongArray table = new AtomicLongArray(capacityFor(this.size + values.length));
+        forEach(value -> insert(table, value)); // Copy current values
+        int size = this.size;
+        for (long value : values) {
+            if (insert(table, value)) size++;
+        }
+
+        this.table = table;
+        this.size = size;
+        this.removed = 0;
+    }
+
+    /**
+     * Replaces all values of the set.
+     * Readers either see the old or the new values, but never a mix of them.
+     *
+     * @param values The new values.
+     */
+    public synchronized void replaceAll(long... values) {
+        for (long value : values) check(value);
+
+        final AtomicLongArray table = new AtomicLongArray(capacityFor(values.length));
+        int size = 0;
+        for (long value : values) {
+            if (insert(table, value)) size++;
+        }
+
+        this.table = table;
+        this.size = size;
+        this.removed = 0;
+    }
+
+    /**
+     * @param value The value to remove.
+     * @return Returns true if the value was in the set.
+     */
+    public synchronized boolean remove(long value) {
+        if (value == EMPTY || value == REMOVED) return false;
+
+        final AtomicLongArray table = this.table;
+        final int mask = table.length() - 1;
+        int slot = mix(value) & mask;
+        while (true) {
+            final long current = table.get(slot);
+            if (current == EMPTY) return false;
+            // Found value
+            if (current == value) {
+                table.set(slot, REMOVED);
+                this.size--;
+                this.removed++;
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+    }
+
+    /**
+     * Removes all values.
+     */
+    public synchronized void clear() {
+        this.table = new AtomicLongArray(MIN_CAPACITY);
+        this.size = 0;
+        this.removed = 0;
+    }
+
+    /**
+     * @return Returns the amount of stored values.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * @return Returns if the set contains no values.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @param action The action to run for every value.
+     */
+    public void forEach(LongConsumer action) {
+        final AtomicLongArray table = this.table;
+        for (int i = 0; i < table.length(); i++) {
+            final long value = table.get(i);
+            if (value != EMPTY && value != REMOVED) action.accept(value);
+        }
+    }
+
+    /**
+     * @return Returns a copy of all values in no specific order.
+     */
+    public synchronized long[] toArray() {
+        final long[] values = new long[this.size];
+        final int[] index = {0};
+        forEach(value -> values[index[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Inserts a value into a table without checking the capacity.
+     *
+     * @param table The table to insert the value in.
+     * @param value The value to insert.
+     * @return Returns true if the value wasn't in the table already.
+     */
+    private boolean insert(AtomicLongArray table, long value) {
+        final int mask = table.length() - 1;
+        int slot = mix(value) & mask;
+        int target = -1; // First slot which is marked as removed
+        while (true) {
+            final long current = table.get(slot);
+            if (current == value) return false;
+            if (current == REMOVED && target == -1) target = slot;
+            if (current == EMPTY) break;
+            slot = slot + 1 & mask;
+        }
+
+        // Reuse the slot of a removed value
+        if (target != -1) {
+            table.set(target, value);
+            if (table == this.table) this.removed--;
+        } else {
+            table.set(slot, value);
+        }
+        return true;
+    }
+
+    /**
+     * Copies all values into a new table, which can hold at least {@code expectedSize} values.
+     *
+     * @param expectedSize The amount of values the new table needs to hold.
+     */
+    private void rehash(int expectedSize) {
+        final AtomicLongArray table = new AtomicLongArray(capacityFor(expectedSize));
+        forEach(value -> insert(table, value));
+        this.table = table;
+        this.removed = 0;
+    }
+
+    private static void check(long value) {
+        if (value == EMPTY || value == REMOVED) throw new IllegalArgumentException(value + " can't be stored in a LongHashSet");
+    }
+
+    private static int capacityFor(int expectedSize) {
+        final long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(Math.max(1, expectedSize * 2L - 1)) << 1);
+        if (capacity > 1 << 30) throw new IllegalArgumentException("Too many values for a LongHashSet");
+        return (int) capacity;
+    }
+
+    private static int mix(long value) {
+        final long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.m5rian.jdaCommandHandler.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * @author Marian
+ * <p>
+ * Persists a {@link LongHashSet} in two files:
+ * <ul>
+ *     <li>{@code <name>.snapshot} contains all values sorted as raw {@code long}s. It gets memory-mapped while loading.</li>
+ *     <li>{@code <name>.log} contains all changes made since the last snapshot. Each change is appended as an operation byte followed by the value.</li>
+ * </ul>
+ * {@link LongSetFile#compact(LongHashSet)} writes a new snapshot and empties the log.
+ */
+public class LongSetFile implements Closeable {
+    private static final int MAGIC = 0x4C534554; // "LSET"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES; // Magic, version and amount of values
+    private static final int RECORD_SIZE = 1 + Long.BYTES; // Operation and value
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+
+    private final Path snapshot; // File of the sorted values
+    private final Path log; // File of all changes since the last snapshot
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE); // Reused buffer to write a change
+    private FileChannel logChannel; // Opened once the file got loaded
+    private int logRecords; // Amount of changes in the log
+
+    /**
+     * @param directory The directory to store the files in.
+     * @param name      The name of the files.
+     */
+    public LongSetFile(Path directory, String name) {
+        this.snapshot = directory.resolve(name + ".snapshot");
+        this.log = directory.resolve(name + ".log");
+    }
+
+    /**
+     * Replaces all values of the set with the persisted ones.
+     * The snapshot gets memory-mapped and all changes of the log are applied afterwards.
+     *
+     * @param set The set to load the values into.
+     * @throws IOException Is thrown when the files can't be read or are corrupted.
+     */
+    public synchronized void load(LongHashSet set) throws IOException {
+        Files.createDirectories(this.snapshot.getParent());
+
+        // Load snapshot
+        if (Files.exists(this.snapshot)) {
+            try (FileChannel channel = FileChannel.open(this.snapshot, StandardOpenOption.READ)) {
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                    throw new IOException(this.snapshot + " is not a valid snapshot");
+
+                final long count = buffer.getLong();
+                if (count != buffer.remaining() / Long.BYTES) throw new IOException(this.snapshot + " is truncated");
+
+                final long[] values = new long[(int) count];
+                buffer.asLongBuffer().get(values);
+                set.replaceAll(values);
+            }
+        } else {
+            set.clear();
+        }
+
+        // Apply changes of the log
+        this.logChannel = FileChannel.open(this.log, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long validSize = this.logChannel.size() - this.logChannel.size() % RECORD_SIZE; // Ignore a partially written change
+        if (validSize > 0) {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) validSize);
+            while (buffer.hasRemaining()) {
+                if (this.logChannel.read(buffer, buffer.position()) == -1) break;
+            }
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_SIZE) {
+                final byte operation = buffer.get();
+                final long value = buffer.getLong();
+                if (operation == ADD) set.add(value);
+                else if (operation == REMOVE) set.remove(value);
+                else throw new IOException(this.log + " contains an unknown operation");
+            }
+        }
+        this.logChannel.truncate(validSize);
+        this.logChannel.position(validSize);
+        this.logRecords = (int) (validSize / RECORD_SIZE);
+    }
+
+    /**
+     * Appends an added value to the log.
+     *
+     * @param value The added value.
+     * @throws IOException Is thrown when the log can't be written.
+     */
+    public synchronized void appendAdd(long value) throws IOException {
+        append(ADD, value);
+    }
+
+    /**
+     * Appends a removed value to the log.
+     *
+     * @param value The removed value.
+     * @throws IOException Is thrown when the log can't be written.
+     */
+    public synchronized void appendRemove(long value) throws IOException {
+        append(REMOVE, value);
+    }
+
+    /**
+     * Writes all values of the set into a new snapshot and empties the log.
+     * The snapshot is written into a temporary file first, so a crash never leaves a broken snapshot behind.
+     *
+     * @param set The set which contains the current values.
+     * @throws IOException Is thrown when the files can't be written.
+     */
+    public synchronized void compact(LongHashSet set) throws IOException {
+        if (this.logChannel == null) throw new IllegalStateException("The file needs to be loaded before it can be compacted");
+
+        final long[] values = set.toArray();
+        Arrays.sort(values);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + values.length * Long.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(values.length);
+        buffer.asLongBuffer().put(values); // Doesn't move the position of the buffer itself
+        buffer.position(buffer.limit());
+        buffer.flip();
+
+        final Path temporary = this.snapshot.resolveSibling(this.snapshot.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, this.snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // All changes are part of the snapshot now
+        this.logChannel.truncate(0);
+        this.logChannel.position(0);
+        this.logRecords = 0;
+    }
+
+    /**
+     * @return Returns the amount of changes since the last snapshot.
+     */
+    public synchronized int getLogSize() {
+        return this.logRecords;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.logChannel != null) this.logChannel.close();
+        this.logChannel = null;
+    }
+
+    private void append(byte operation, long value) throws IOException {
+        if (this.logChannel == null) throw new IllegalStateException("The file needs to be loaded before changes can be written");
+
+        this.record.clear();
+        this.record.put(operation).putLong(value).flip();
+        while (this.record.hasRemaining()) this.logChannel.write(this.record);
+        this.logRecords++;
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.m5rian.jdaCommandHandler.utils;
+
+import java.util.*;
+
+/**
+ * @author Marian
+ * <p>
+ * An immutable trie, which finds the longest prefix of a set of prefixes a text starts with.
+ * The text is only read once from the start, no matter how many prefixes there are.
+ * <p>
+ * All nodes are stored in flat arrays, children of a node are sorted by their character.
+ */
+public class PrefixTrie {
+    private final int[] childOffsets; // Children of node n are in [childOffsets[n], childOffsets[n + 1])
+    private final char[] childCharacters; // Characters of all children
+    private final int[] childNodes; // Nodes of all children
+    private final boolean[] terminal; // Does a prefix end at the node?
+
+    /**
+     * @param prefixes All prefixes.
+     */
+    public PrefixTrie(Collection<String> prefixes) {
+        // Build tree
+        final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        final List<Boolean> terminal = new ArrayList<>();
+        children.add(new TreeMap<>()); // Add root
+        terminal.add(false);
+        for (String prefix : prefixes) {
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                final Integer child = children.get(node).get(prefix.charAt(i));
+                if (child == null) {
+                    children.add(new TreeMap<>());
+                    terminal.add(false);
+                    children.get(node).put(prefix.charAt(i), children.size() - 1);
+                    node = children.size() - 1;
+                } else node = child;
+            }
+            terminal.set(node, true);
+        }
+
+        // Flatten tree
+        final int nodes = children.size();
+        this.childOffsets = new int[nodes + 1];
+        this.childCharacters = new char[nodes - 1];
+        this.childNodes = new int[nodes - 1];
+        this.terminal = new boolean[nodes];
+        int offset = 0;
+        for (int node = 0; node < nodes; node++) {
+            this.childOffsets[node] = offset;
+            this.terminal[node] = terminal.get(node);
+            for (Map.Entry<Character, Integer> child : children.get(node).entrySet()) {
+                this.childCharacters[offset] = child.getKey();
+                this.childNodes[offset] = child.getValue();
+                offset++;
+            }
+        }
+        this.childOffsets[nodes] = offset;
+    }
+
+    /**
+     * @param text The text to check.
+     * @return Returns the length of the longest prefix the text starts with or -1 if it doesn't start with any prefix.
+     */
+    public int match(String text) {
+        int longest = this.terminal[0] ? 0 : -1;
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final int from = this.childOffsets[node];
+            final int to = this.childOffsets[node + 1];
+            if (from == to) break; // Node has no children
+
+            final int child = Arrays.binarySearch(this.childCharacters, from, to, text.charAt(i));
+            if (child < 0) break; // No prefix continues with the character
+
+            node = this.childNodes[child];
+            if (this.terminal[node]) longest = i + 1;
+        }
+        return longest;
+    }
+}
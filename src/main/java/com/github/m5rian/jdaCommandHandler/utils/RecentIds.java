@@ -0,0 +1,84 @@
+package com.github.m5rian.jdaCommandHandler.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Marian
+ * <p>
+ * A lossy, lock-free set of recently seen Discord ids, which detects replayed events.
+ * <p>
+ * Ids are stored in a fixed amount of slots and every id can only be in one of {@link #PROBES} neighbouring slots.
+ * The creation time of a snowflake tells its age, so a slot with an id older than the window can be reused without any clock per slot.
+ * If all slots of an id hold recent ids, the first one gets overwritten, which can only let a duplicate pass, but never drops a new id.
+ */
+public class RecentIds {
+    private static final long DISCORD_EPOCH = 1420070400000L; // Start of snowflake timestamps in milliseconds since the epoch
+    private static final int PROBES = 4; // Slots an id can be stored in
+
+    private final AtomicLongArray slots; // Stored ids, 0 for a free slot
+    private final int mask; // Mask to get a slot out of a hash
+    private final long window; // Time in milliseconds an id is remembered
+    private final LongAdder duplicates = new LongAdder();
+
+    /**
+     * @param slots  The amount of slots. This gets rounded up to the next power of two.
+     * @param window The time in milliseconds after the creation of an id, until which duplicates are detected.
+     */
+    public RecentIds(int slots, long window) {
+        if (slots <= 0) throw new IllegalArgumentException("The amount of slots must be positive");
+
+        final int capacity = Integer.highestOneBit(Math.min(Math.max(slots, PROBES), 1 << 30) - 1 | 1) << 1; // Round up to the next power of two
+        this.slots = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.window = window;
+    }
+
+    /**
+     * Remembers an id.
+     *
+     * @param id A snowflake id.
+     * @return Returns false if the id was already seen recently.
+     */
+    public boolean add(long id) {
+        final long oldest = System.currentTimeMillis() - DISCORD_EPOCH - this.window << 22; // Ids below are expired
+        final int start = slot(id);
+        while (true) {
+            // Look for the id in all slots first, an earlier slot can be free while the id sits in a later one
+            int free = -1; // First free or expired slot
+            long freeValue = 0;
+            for (int probe = 0; probe < PROBES; probe++) {
+                final int slot = start + probe & this.mask;
+                final long stored = this.slots.get(slot);
+                // Id was seen already
+                if (stored == id) {
+                    this.duplicates.increment();
+                    return false;
+                }
+                if (free == -1 && (stored == 0 || stored < oldest)) {
+                    free = slot;
+                    freeValue = stored;
+                }
+            }
+            if (free == -1) {
+                this.slots.set(start, id); // All slots hold recent ids
+                return true;
+            }
+            if (this.slots.compareAndSet(free, freeValue, id)) return true; // Claimed free or expired slot
+            // Another thread changed the slot, scan again
+        }
+    }
+
+    /**
+     * @return Returns the amount of detected duplicates.
+     */
+    public long getDuplicates() {
+        return this.duplicates.sum();
+    }
+
+    private int slot(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) hash & this.mask;
+    }
+}
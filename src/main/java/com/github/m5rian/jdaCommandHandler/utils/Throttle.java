@@ -0,0 +1,61 @@
+package com.github.m5rian.jdaCommandHandler.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author Marian
+ * <p>
+ * A lossy throttle which allows one action per key in a given interval.
+ * Keys are hashed into a fixed amount of slots, so the memory usage never grows.
+ * Keys which share a slot also share their interval, which only makes the throttle a bit stricter.
+ */
+public class Throttle {
+    private final AtomicLongArray slots; // Time of the last allowed action per slot
+    private final int mask; // Mask to get a slot out of a hash
+    private final long interval; // Interval in nanoseconds
+
+    /**
+     * @param slots    The amount of slots. This gets rounded up to the next power of two.
+     * @param interval The minimum time between two actions of the same key.
+     * @param unit     The unit of the interval.
+     */
+    public Throttle(int slots, long interval, TimeUnit unit) {
+        if (slots <= 0) throw new IllegalArgumentException("The amount of slots must be positive");
+
+        final int capacity = Integer.highestOneBit(Math.min(slots, 1 << 30) - 1 | 1) << 1; // Round up to the next power of two
+        this.slots = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.interval = unit.toNanos(interval);
+    }
+
+    /**
+     * @param key The key of the action, for example a user id.
+     * @return Returns true if the action is allowed, which starts a new interval for the key.
+     */
+    public boolean tryAcquire(long key) {
+        final int slot = slot(key);
+        final long now = System.nanoTime();
+        final long last = this.slots.get(slot);
+        // Slot is still throttled
+        if (last != 0 && now - last < this.interval) return false;
+        return this.slots.compareAndSet(slot, last, now == 0 ? 1 : now);
+    }
+
+    /**
+     * Checks a key without starting a new interval.
+     *
+     * @param key The key of the action, for example a user id.
+     * @return Returns true if the action isn't allowed at the moment.
+     */
+    public boolean isThrottled(long key) {
+        final long last = this.slots.get(slot(key));
+        return last != 0 && System.nanoTime() - last < this.interval;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) hash & this.mask;
+    }
+}
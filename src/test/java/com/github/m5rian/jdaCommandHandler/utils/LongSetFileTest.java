@@ -0,0 +1,70 @@
+package com.github.m5rian.jdaCommandHandler.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * @author Marian
+ * <p>
+ * Writes a {@link LongSetFile} and loads it again.
+ */
+class LongSetFileTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void compactedSnapshotLoadsAgain() throws IOException {
+        final LongHashSet set = new LongHashSet();
+        try (LongSetFile file = new LongSetFile(this.directory, "blacklist")) {
+            file.load(set);
+            set.addAll(3, 1, 2);
+            file.compact(set);
+        }
+
+        assertArrayEquals(new long[]{1, 2, 3}, reload());
+    }
+
+    @Test
+    void logIsAppliedOnTopOfSnapshot() throws IOException {
+        final LongHashSet set = new LongHashSet();
+        try (LongSetFile file = new LongSetFile(this.directory, "blacklist")) {
+            file.load(set);
+            set.addAll(1, 2);
+            file.compact(set);
+            file.appendAdd(9);
+            file.appendRemove(1);
+        }
+
+        assertArrayEquals(new long[]{2, 9}, reload());
+    }
+
+    @Test
+    void emptySetSurvivesCompaction() throws IOException {
+        try (LongSetFile file = new LongSetFile(this.directory, "blacklist")) {
+            final LongHashSet set = new LongHashSet();
+            file.load(set);
+            file.compact(set);
+        }
+
+        assertArrayEquals(new long[0], reload());
+    }
+
+    /**
+     * @return Returns the sorted values of a freshly loaded set.
+     */
+    private long[] reload() throws IOException {
+        final LongHashSet set = new LongHashSet();
+        try (LongSetFile file = new LongSetFile(this.directory, "blacklist")) {
+            file.load(set);
+        }
+        final long[] values = set.toArray();
+        Arrays.sort(values);
+        return values;
+    }
+}